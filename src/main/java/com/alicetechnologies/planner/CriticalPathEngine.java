@@ -1,14 +1,18 @@
 package com.alicetechnologies.planner;
 
+import com.alicetechnologies.planner.compute.ComputeExecutor;
 import com.alicetechnologies.planner.task.dto.Task;
 import com.alicetechnologies.planner.task.dto.TaskEvaluated;
 import com.google.common.collect.Range;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -36,6 +40,11 @@ public class CriticalPathEngine {
      */
     private int maxCost = Integer.MIN_VALUE;
 
+    /**
+     * Tasks in the order of the forward pass, every task comes after all of its dependencies.
+     */
+    private List<TaskEvaluated> topologicalOrder;
+
     public CriticalPathEngine(final Collection<Task> sourceTasks) {
         evaluateTasks(sourceTasks);
     }
@@ -51,7 +60,10 @@ public class CriticalPathEngine {
             .collect(Collectors.toList());
         taskMap = tasks.stream()
             .collect(Collectors.toMap(TaskEvaluated::getTaskCode, task -> task));
-        tasks.forEach(this::loadDependencies);
+        for (TaskEvaluated task : tasks) {
+            ComputeExecutor.checkInterrupted();
+            loadDependencies(task);
+        }
         calculateCriticalPath();
     }
 
@@ -90,46 +102,9 @@ public class CriticalPathEngine {
      * Using <a href="https://en.wikipedia.org/wiki/Critical_path_method">Critical path method</a>
      */
     private void calculateCriticalPath() {
-        // tasks whose critical cost has been calculated
-        Set<TaskEvaluated> completed = new HashSet<>();
-        // tasks whose critical cost still needs to be calculated
-        Set<TaskEvaluated> remaining = new HashSet<>(tasks);
-
-        // Backflow algorithm
-        // while there are tasks whose critical cost isn't calculated.
-        while (!remaining.isEmpty()) {
-            boolean progress = false;
-
-            // find a new task to calculate
-            final Iterator<TaskEvaluated> it = remaining.iterator();
-            while (it.hasNext()) {
-                TaskEvaluated task = it.next();
-                if (completed.containsAll(task.getDependencies())) {
-                    // all dependencies calculated, critical cost is max dependency critical cost, plus our cost
-                    final int maxCriticalCost = task.getDependencies().stream()
-                        .mapToInt(TaskEvaluated::getCriticalCost)
-                        .max().orElse(0);
-                    task.setCriticalCost(maxCriticalCost + task.getCost());
-                    // set task as calculated and remove
-                    completed.add(task);
-                    it.remove();
-                    // note we are making progress
-                    progress = true;
-                }
-            }
-            // If we haven't made any progress then a cycle must exist in
-            // the graph, and we won't be able to calculate the critical path
-            if (!progress)
-                throw new RuntimeException("Cyclic dependency, algorithm stopped!");
-        }
-
+        calculateEarlyIntervals(findInitialNodes(tasks));
         maxCost = calculateMaxCost();
-        setLatestIntervalFor(maxCost);
-
-        Set<TaskEvaluated> initialNodes = findInitialNodes(tasks);
-        calculateEarlyIntervals(initialNodes);
-
-        assert completed.size() == tasks.size();
+        calculateLateIntervals();
 
         tasks = sortByExecutionOrder(tasks);
     }
@@ -148,30 +123,59 @@ public class CriticalPathEngine {
         return remaining;
     }
 
+    /**
+     * Forward pass in topological order (Kahn's algorithm): a task is visited once, right after the last of its
+     * dependencies, so its early start is the latest early finish of the dependencies. Linear in tasks plus
+     * dependencies, also for diamond shaped graphs where the paths to a task multiply.
+     */
     private void calculateEarlyIntervals(Set<TaskEvaluated> initials) {
-        for (TaskEvaluated initial : initials) {
-            initial.setEarlyStart(0);
-            initial.setEarlyFinish(initial.getCost());
-            setEarlyInterval(initial);
+        // number of dependencies of each task which are not visited yet
+        final Map<TaskEvaluated, Integer> remaining = new IdentityHashMap<>(tasks.size());
+        for (TaskEvaluated task : tasks) {
+            remaining.put(task, task.getDependencies().size());
         }
-    }
+        final Deque<TaskEvaluated> ready = new ArrayDeque<>(initials);
+        topologicalOrder = new ArrayList<>(tasks.size());
+
+        while (!ready.isEmpty()) {
+            ComputeExecutor.checkInterrupted();
+            final TaskEvaluated task = ready.poll();
+            final int earlyStart = task.getDependencies().stream()
+                .mapToInt(TaskEvaluated::getEarlyFinish)
+                .max().orElse(0);
+            task.setEarlyStart(earlyStart);
+            task.setEarlyFinish(earlyStart + task.getCost());
+            // critical cost is max dependency critical cost, plus our cost
+            task.setCriticalCost(task.getEarlyFinish());
+            topologicalOrder.add(task);
 
-    private void setEarlyInterval(TaskEvaluated initial) {
-        int completionTime = initial.getEarlyFinish();
-        for (TaskEvaluated task : initial.getBlocked()) {
-            if (completionTime >= task.getEarlyStart()) {
-                task.setEarlyStart(completionTime);
-                task.setEarlyFinish(completionTime + task.getCost());
+            for (TaskEvaluated blocked : task.getBlocked()) {
+                if (remaining.merge(blocked, -1, Integer::sum) == 0) {
+                    ready.add(blocked);
+                }
             }
-            setEarlyInterval(task);
         }
+
+        // If some tasks were never released then a cycle must exist in
+        // the graph, and we won't be able to calculate the critical path
+        if (topologicalOrder.size() != tasks.size())
+            throw new RuntimeException("Cyclic dependency, algorithm stopped!");
     }
 
     /**
-     * Modify {@code latestStart} and {@code latestFinish} for every task based on the max cost.
+     * Backward pass: latest finish of a task is the earliest latest start of the tasks it blocks,
+     * or the max cost if it blocks nothing.
      */
-    private void setLatestIntervalFor(final int maxCost) {
-        tasks.forEach(task -> task.setLatestIntervalFor(maxCost));
+    private void calculateLateIntervals() {
+        for (int i = topologicalOrder.size() - 1; i >= 0; i--) {
+            ComputeExecutor.checkInterrupted();
+            final TaskEvaluated task = topologicalOrder.get(i);
+            final int latestFinish = task.getBlocked().stream()
+                .mapToInt(TaskEvaluated::getLatestStart)
+                .min().orElse(maxCost);
+            task.setLatestFinish(latestFinish);
+            task.setLatestStart(latestFinish - task.getCost());
+        }
     }
 
     private int calculateMaxCost() {
@@ -15,6 +15,8 @@ public class PlannerApplication {
 
 	public static final String API_PLAN = "/api/plan";
 	public static final String API_TASK = "/api/task";
+	public static final String API_PLAN_COMPRESSION = API_PLAN + "/compression";
+	public static final String API_SCHEDULE = "/api/schedule";
 
 	public static void main(String[] args) {
 		SpringApplication.run(PlannerApplication.class, args);
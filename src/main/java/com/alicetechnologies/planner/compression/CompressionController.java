@@ -0,0 +1,55 @@
+package com.alicetechnologies.planner.compression;
+
+import com.alicetechnologies.planner.PlannerApplication;
+import com.alicetechnologies.planner.compression.dto.CompressionRequestDto;
+import com.alicetechnologies.planner.compression.dto.CompressionResponseDto;
+import com.alicetechnologies.planner.compute.ComputeExecutor;
+import com.alicetechnologies.planner.task.TaskListValidator;
+import com.alicetechnologies.planner.task.TaskRepository;
+import com.alicetechnologies.planner.task.dto.Task;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping(value = PlannerApplication.API_PLAN_COMPRESSION, produces = MediaType.APPLICATION_JSON_VALUE)
+public class CompressionController {
+
+    private final CompressionService compressionService;
+    private final ComputeExecutor computeExecutor;
+    private final TaskRepository taskRepository;
+    private final TaskListValidator taskListValidator;
+
+    public CompressionController(
+        final CompressionService compressionService,
+        final ComputeExecutor computeExecutor,
+        final TaskRepository taskRepository,
+        final TaskListValidator taskListValidator
+    ) {
+        this.compressionService = compressionService;
+        this.computeExecutor = computeExecutor;
+        this.taskRepository = taskRepository;
+        this.taskListValidator = taskListValidator;
+    }
+
+    /**
+     * Time/cost trade-off of finishing the project earlier. The request is validated right away, so an invalid one
+     * is answered with 400 even when the pool is saturated, and then runs on the bounded compute pool.
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<CompressionResponseDto> compress(@RequestBody final CompressionRequestDto request) {
+        // the input file has been evaluated on startup, only posted tasks need checking
+        Optional.ofNullable(request.getTasks()).ifPresent(taskListValidator::validate);
+        compressionService.validate(request.getCrashCosts(), request.getTargetReduction());
+        final List<Task> tasks = Optional.ofNullable(request.getTasks())
+            .orElseGet(taskRepository::getTasks);
+        return computeExecutor.submit(() ->
+            compressionService.compress(tasks, request.getCrashCosts(), request.getTargetReduction()));
+    }
+}
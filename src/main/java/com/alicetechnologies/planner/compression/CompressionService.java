@@ -0,0 +1,391 @@
+package com.alicetechnologies.planner.compression;
+
+import com.alicetechnologies.planner.compression.dto.CompressionResponseDto;
+import com.alicetechnologies.planner.compression.dto.CrashCost;
+import com.alicetechnologies.planner.compute.ComputeExecutor;
+import com.alicetechnologies.planner.task.dto.Task;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Schedule compression (crashing): find a cheap way to finish the project earlier by shortening critical tasks.
+ * <p>
+ * Phillips-Dessouky: every step takes the cheapest cut of the critical subgraph weighted by cost per time unit.
+ * Tasks crossing the cut forward are shortened, and tasks crashed by an earlier step which cross it backward are
+ * lengthened back, earning their cost per time unit. Every critical path crosses the cut forward once more than
+ * backward, so the project gets shorter by the step size. The cut is a minimum s-t cut with lower bounds on the flow
+ * through crashed tasks. Every step is as long as possible before another path becomes critical, one of the tasks
+ * reaches its minimum or original duration or lengthening a task delays a path which is not critical; the step is
+ * verified on the network and halved otherwise. Only the affected part of the network is re-evaluated.
+ * <p>
+ * With linear costs this yields the minimum cost for every duration on the curve, as long as every step is at least
+ * one time unit long. Durations are whole time units, so when even a single unit of lengthening delays another path,
+ * that step shortens tasks only and the curve may be above the optimum from there on.
+ */
+@Service
+public class CompressionService {
+
+    /**
+     * Every step takes a minimum cut over the critical tasks, which grow in number as the project gets shorter,
+     * so the curve of a large project is limited to this many steps.
+     */
+    private final int maxSteps;
+
+    public CompressionService(@Value("${planner.compression.max-steps:1000}") final int maxSteps) {
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * Checks the request parameters, run before handing the request over to the compute pool.
+     *
+     * @throws InvalidCompressionRequestException if the target or one of the crash costs is invalid
+     */
+    public void validate(final List<CrashCost> crashCosts, final int targetReduction) {
+        if (targetReduction < 0) {
+            throw new InvalidCompressionRequestException("targetReduction must not be negative");
+        }
+        for (CrashCost crashCost : Optional.ofNullable(crashCosts).orElse(List.of())) {
+            if (crashCost == null) {
+                throw new InvalidCompressionRequestException("crash cost must not be null");
+            }
+            if (crashCost.getMinDuration() < 0 || crashCost.getCostPerUnit() < 0) {
+                throw new InvalidCompressionRequestException("minDuration and costPerUnit must not be negative");
+            }
+            if (crashCost.getTaskCode() == null && crashCost.getOperationName() == null) {
+                throw new InvalidCompressionRequestException("crash cost needs either taskCode or operationName");
+            }
+        }
+    }
+
+    /**
+     * @param tasks checked by {@link com.alicetechnologies.planner.task.TaskListValidator}
+     * @param crashCosts checked by {@link #validate}
+     * @param targetReduction how many time units to shorten the project by, as far as possible when 0,
+     * in at most `planner.compression.max-steps` steps
+     */
+    public CompressionResponseDto compress(
+        final List<Task> tasks,
+        final List<CrashCost> crashCosts,
+        final int targetReduction
+    ) {
+        final CrashingNetwork network = new CrashingNetwork(tasks);
+        final int[] originalDuration = tasks.stream().mapToInt(Task::getDuration).toArray();
+        final int[] minDuration = new int[network.size()];
+        final double[] costPerUnit = new double[network.size()];
+        resolveCrashCosts(tasks, Optional.ofNullable(crashCosts).orElse(List.of()), minDuration, costPerUnit);
+
+        final Costs costs = new Costs(originalDuration, minDuration, costPerUnit);
+
+        final int originalTotalDuration = network.getTotalDuration();
+        final int targetDuration = targetReduction > 0 ? Math.max(0, originalTotalDuration - targetReduction) : 0;
+        final List<CompressionResponseDto.TradeOffPoint> curve = new ArrayList<>();
+        curve.add(new CompressionResponseDto.TradeOffPoint(originalTotalDuration, 0));
+
+        // position of a task in the current critical subgraph, reused between steps
+        final int[] position = new int[network.size()];
+        Arrays.fill(position, -1);
+
+        double totalCost = 0;
+        while (network.getTotalDuration() > targetDuration && curve.size() <= maxSteps) {
+            ComputeExecutor.checkInterrupted();
+            final CriticalSubgraph critical = new CriticalSubgraph(network, position);
+            final int remaining = network.getTotalDuration() - targetDuration;
+            Cut cut = critical.minimumCut(costs, true);
+            if (cut == null) {
+                critical.release();
+                break;
+            }
+
+            int delta = critical.maxDelta(cut, costs, remaining);
+            while (delta > 0 && !shorten(network, cut, delta)) {
+                delta /= 2;
+            }
+            if (delta == 0) {
+                // lengthening back delays another path even by a single unit, shorten only
+                cut = critical.minimumCut(costs, false);
+                delta = critical.maxDelta(cut, costs, remaining);
+                if (!shorten(network, cut, delta)) {
+                    critical.release();
+                    break;
+                }
+            }
+            critical.release();
+            totalCost += delta * cut.cost;
+            curve.add(new CompressionResponseDto.TradeOffPoint(network.getTotalDuration(), totalCost));
+        }
+
+        return CompressionResponseDto.builder()
+            .originalDuration(originalTotalDuration)
+            .totalDuration(network.getTotalDuration())
+            .totalCost(totalCost)
+            .tradeOffCurve(curve)
+            .stepLimitReached(curve.size() > maxSteps && network.getTotalDuration() > targetDuration)
+            .crashedTasks(crashedTasks(tasks, network, costPerUnit))
+            .build();
+    }
+
+    /**
+     * Apply the cut to the network if it shortens the project by at least {@code delta}, otherwise leave the network
+     * as it was.
+     */
+    private static boolean shorten(final CrashingNetwork network, final Cut cut, final int delta) {
+        final int before = network.getTotalDuration();
+        network.shorten(cut.shortened, cut.lengthened, delta);
+        if (network.getTotalDuration() <= before - delta) {
+            return true;
+        }
+        network.shorten(cut.lengthened, cut.shortened, delta);
+        return false;
+    }
+
+    /**
+     * Crash cost configured for the task code takes precedence over the one for the operation name.
+     * Tasks without any crash cost cannot be shortened.
+     */
+    private static void resolveCrashCosts(
+        final List<Task> tasks,
+        final List<CrashCost> crashCosts,
+        final int[] minDuration,
+        final double[] costPerUnit
+    ) {
+        final Map<String, CrashCost> byTaskCode = new HashMap<>();
+        final Map<String, CrashCost> byOperationName = new HashMap<>();
+        for (CrashCost crashCost : crashCosts) {
+            if (crashCost.getTaskCode() != null) {
+                byTaskCode.put(crashCost.getTaskCode(), crashCost);
+            } else {
+                byOperationName.put(crashCost.getOperationName(), crashCost);
+            }
+        }
+
+        for (int i = 0; i < tasks.size(); i++) {
+            final Task task = tasks.get(i);
+            final CrashCost crashCost = Optional.ofNullable(byTaskCode.get(task.getTaskCode()))
+                .orElseGet(() -> byOperationName.get(task.getOperationName()));
+            if (crashCost == null) {
+                minDuration[i] = task.getDuration();
+            } else {
+                minDuration[i] = Math.min(task.getDuration(), crashCost.getMinDuration());
+                costPerUnit[i] = crashCost.getCostPerUnit();
+            }
+        }
+    }
+
+    private static List<CompressionResponseDto.CrashedTask> crashedTasks(
+        final List<Task> tasks,
+        final CrashingNetwork network,
+        final double[] costPerUnit
+    ) {
+        final List<CompressionResponseDto.CrashedTask> crashed = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            final Task task = tasks.get(i);
+            final int reduction = task.getDuration() - network.getDuration(i);
+            if (reduction > 0) {
+                crashed.add(CompressionResponseDto.CrashedTask.builder()
+                    .taskCode(task.getTaskCode())
+                    .operationName(task.getOperationName())
+                    .originalDuration(task.getDuration())
+                    .duration(network.getDuration(i))
+                    .cost(reduction * costPerUnit[i])
+                    .build());
+            }
+        }
+        return crashed;
+    }
+
+    private static class Costs {
+        private final int[] originalDuration;
+        private final int[] minDuration;
+        private final double[] costPerUnit;
+        /**
+         * Upper bound of every cut made of crashable tasks.
+         */
+        private final double maxCut;
+        /**
+         * Finite stand-in for "cannot be shortened", any cut containing it is above {@link #maxCut} even after
+         * subtracting all lower bounds.
+         */
+        private final double infinity;
+
+        Costs(final int[] originalDuration, final int[] minDuration, final double[] costPerUnit) {
+            this.originalDuration = originalDuration;
+            this.minDuration = minDuration;
+            this.costPerUnit = costPerUnit;
+            double sum = 0;
+            for (int task = 0; task < costPerUnit.length; task++) {
+                if (minDuration[task] < originalDuration[task]) {
+                    sum += costPerUnit[task];
+                }
+            }
+            this.maxCut = sum;
+            this.infinity = 2 * sum + 1;
+        }
+
+        boolean canShorten(final CrashingNetwork network, final int task) {
+            return network.getDuration(task) > minDuration[task];
+        }
+
+        boolean canLengthen(final CrashingNetwork network, final int task) {
+            return network.getDuration(task) < originalDuration[task];
+        }
+    }
+
+    private static class Cut {
+        private final int[] shortened;
+        private final int[] lengthened;
+        /**
+         * Per time unit: cost of the shortened tasks minus the savings of the lengthened ones.
+         */
+        private final double cost;
+
+        Cut(final int[] shortened, final int[] lengthened, final double cost) {
+            this.shortened = shortened;
+            this.lengthened = lengthened;
+            this.cost = cost;
+        }
+    }
+
+    /**
+     * Critical tasks of the network linked by dependencies where one task starts right when the other one finishes,
+     * every critical path runs through this subgraph from a task starting at 0 to a task finishing with the project.
+     * Built from the critical tasks only, so a step costs time proportional to the critical part of the network.
+     */
+    private static class CriticalSubgraph {
+        private static final int SOURCE = 0;
+        private static final int SINK = 1;
+
+        private final CrashingNetwork network;
+        private final int[] tasks;
+        /**
+         * Position of a task in {@link #tasks}, -1 for non-critical tasks. Shared between steps, reset by
+         * {@link #release()}.
+         */
+        private final int[] position;
+        /**
+         * How much the critical tasks can be shortened before some other path becomes critical.
+         */
+        private int minPositiveFloat;
+
+        CriticalSubgraph(final CrashingNetwork network, final int[] position) {
+            this.network = network;
+            this.position = position;
+            this.tasks = network.getCriticalTasks();
+            for (int i = 0; i < tasks.length; i++) {
+                position[tasks[i]] = i;
+            }
+
+            minPositiveFloat = network.getMinPositiveFloat();
+            // paths made of critical tasks only can still be shorter, if some dependency leaves a gap
+            for (int task : tasks) {
+                final int earlyFinish = network.getEarlyStart(task) + network.getDuration(task);
+                for (int successor : network.getSuccessors(task)) {
+                    final int gap = network.getEarlyStart(successor) - earlyFinish;
+                    if (position[successor] >= 0 && gap > 0) {
+                        minPositiveFloat = Math.min(minPositiveFloat, gap);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Each critical task is split into an in and out node connected by an edge of its cost per time unit,
+         * or {@code infinity} if it cannot be shortened any more. A task which can be lengthened back has a lower
+         * bound of its cost per time unit on that edge, so crossing the cut backward earns it. The lower bound
+         * {@code l} of an edge {@code in -> out} is replaced by an edge {@code SOURCE -> out} and {@code in -> SINK}
+         * of capacity {@code l} each, and the capacity of {@code in -> out} reduced by {@code l}, which adds the sum
+         * of all lower bounds to every cut.
+         *
+         * @param lengthen whether crashed tasks may be lengthened back
+         * @return the cheapest set of critical tasks covering all critical paths, null if there is none
+         */
+        Cut minimumCut(final Costs costs, final boolean lengthen) {
+            final MinCut minCut = new MinCut(2 + 2 * tasks.length, 5 * tasks.length);
+            double lowerBounds = 0;
+            for (int i = 0; i < tasks.length; i++) {
+                final int task = tasks[i];
+                final double lowerBound = lengthen && costs.canLengthen(network, task) ? costs.costPerUnit[task] : 0;
+                minCut.addEdge(in(i), out(i), costs.canShorten(network, task)
+                    ? costs.costPerUnit[task] - lowerBound
+                    : costs.infinity);
+                if (lowerBound > 0) {
+                    minCut.addEdge(SOURCE, out(i), lowerBound);
+                    minCut.addEdge(in(i), SINK, lowerBound);
+                    lowerBounds += lowerBound;
+                }
+                if (network.getEarlyStart(task) == 0) {
+                    minCut.addEdge(SOURCE, in(i), costs.infinity);
+                }
+                if (network.getEarlyStart(task) + network.getDuration(task) == network.getTotalDuration()) {
+                    minCut.addEdge(out(i), SINK, costs.infinity);
+                }
+                for (int successor : network.getSuccessors(task)) {
+                    if (position[successor] >= 0 && network.isTight(task, successor)) {
+                        minCut.addEdge(out(i), in(position[successor]), costs.infinity);
+                    }
+                }
+            }
+
+            if (minCut.maxFlow(SOURCE, SINK) - lowerBounds > costs.maxCut) {
+                return null;
+            }
+            final boolean[] sourceSide = minCut.sourceSide(SOURCE);
+            final List<Integer> shortened = new ArrayList<>();
+            final List<Integer> lengthened = new ArrayList<>();
+            double cost = 0;
+            for (int i = 0; i < tasks.length; i++) {
+                final int task = tasks[i];
+                if (sourceSide[in(i)] && !sourceSide[out(i)]) {
+                    shortened.add(task);
+                    cost += costs.costPerUnit[task];
+                } else if (lengthen && !sourceSide[in(i)] && sourceSide[out(i)] && costs.canLengthen(network, task)) {
+                    lengthened.add(task);
+                    cost -= costs.costPerUnit[task];
+                }
+            }
+            return new Cut(toArray(shortened), toArray(lengthened), cost);
+        }
+
+        /**
+         * @return the longest step for the cut before another path becomes critical or a task reaches its minimum
+         * or original duration, at most {@code remaining}
+         */
+        int maxDelta(final Cut cut, final Costs costs, final int remaining) {
+            int delta = Math.min(minPositiveFloat, remaining);
+            for (int task : cut.shortened) {
+                delta = Math.min(delta, network.getDuration(task) - costs.minDuration[task]);
+            }
+            for (int task : cut.lengthened) {
+                delta = Math.min(delta, costs.originalDuration[task] - network.getDuration(task));
+            }
+            return delta;
+        }
+
+        /**
+         * Reset the shared positions for the next step.
+         */
+        void release() {
+            for (int task : tasks) {
+                position[task] = -1;
+            }
+        }
+
+        private static int[] toArray(final List<Integer> tasks) {
+            return tasks.stream().mapToInt(task -> task).toArray();
+        }
+
+        private static int in(final int position) {
+            return 2 + 2 * position;
+        }
+
+        private static int out(final int position) {
+            return 3 + 2 * position;
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.alicetechnologies.planner.compression;
+
+import com.alicetechnologies.planner.task.dto.Task;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Critical path network over primitive arrays which can be re-evaluated incrementally after tasks are shortened.
+ * <p>
+ * For every task it keeps the early start (longest path from the project start to the task) and the tail
+ * (longest path from the task start to the project end, including its own duration). Shortening a task only changes
+ * early starts of its descendants and tails of its ancestors, so only those are recalculated.
+ * A task is critical when {@code earlyStart + tail} equals the total duration. Tasks are kept grouped by that length,
+ * so the critical tasks and the float of the next path are available without scanning the whole network.
+ * <p>
+ * The task list is expected to be checked by {@link com.alicetechnologies.planner.task.TaskListValidator}.
+ */
+class CrashingNetwork {
+
+    private final int size;
+    private final int[] duration;
+    private final int[][] successors;
+    private final int[][] predecessors;
+    /**
+     * Tasks in topological order, dependencies first, and position of every task in that order.
+     */
+    private final int[] order;
+    private final int[] topologicalIndex;
+
+    private final int[] earlyStart;
+    private final int[] tail;
+    /**
+     * Tasks grouped by the length of the longest path through them, the longest one is the total duration.
+     * Every group is a linked list over {@link #nextInGroup} and {@link #previousInGroup} starting at its first task,
+     * the ordered lengths only change when a group starts or ends.
+     */
+    private final Map<Integer, Integer> firstInGroup = new HashMap<>();
+    private final TreeSet<Integer> lengths = new TreeSet<>();
+    private final int[] nextInGroup;
+    private final int[] previousInGroup;
+
+    /**
+     * Topological positions of tasks waiting for recalculation. Positions are taken in order, so every task is
+     * recalculated after all of its changed dependencies (forward) or all of its changed successors (backward),
+     * and a sweep only visits the affected tasks.
+     */
+    private final PositionQueue forward;
+    private final PositionQueue backward;
+    private final boolean[] dirty;
+
+    CrashingNetwork(final List<Task> tasks) {
+        size = tasks.size();
+        duration = new int[size];
+        successors = new int[size][];
+        predecessors = new int[size][];
+        topologicalIndex = new int[size];
+        earlyStart = new int[size];
+        tail = new int[size];
+        dirty = new boolean[size];
+        forward = new PositionQueue(1);
+        backward = new PositionQueue(-1);
+        nextInGroup = new int[size];
+        previousInGroup = new int[size];
+
+        final Map<String, Integer> indexByCode = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            final Task task = tasks.get(i);
+            indexByCode.put(task.getTaskCode(), i);
+            duration[i] = task.getDuration();
+        }
+
+        final int[] successorCount = new int[size];
+        for (int i = 0; i < size; i++) {
+            final int[] dependencies = tasks.get(i).getDependencies().stream()
+                .mapToInt(indexByCode::get)
+                .toArray();
+            predecessors[i] = dependencies;
+            for (int dependency : dependencies) {
+                successorCount[dependency]++;
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            successors[i] = new int[successorCount[i]];
+        }
+        for (int i = 0; i < size; i++) {
+            for (int dependency : predecessors[i]) {
+                successors[dependency][--successorCount[dependency]] = i;
+            }
+        }
+
+        order = topologicalOrder();
+        for (int i = 0; i < size; i++) {
+            topologicalIndex[order[i]] = i;
+        }
+        for (int task : order) {
+            earlyStart[task] = maxEarlyFinish(predecessors[task]);
+        }
+        for (int i = size - 1; i >= 0; i--) {
+            final int task = order[i];
+            tail[task] = duration[task] + maxTail(successors[task]);
+        }
+        for (int task = 0; task < size; task++) {
+            group(task);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int getTotalDuration() {
+        return lengths.isEmpty() ? 0 : lengths.last();
+    }
+
+    int getDuration(final int task) {
+        return duration[task];
+    }
+
+    int getEarlyStart(final int task) {
+        return earlyStart[task];
+    }
+
+    int[] getSuccessors(final int task) {
+        return successors[task];
+    }
+
+    /**
+     * @return tasks on a critical path, in the order of their indexes
+     */
+    int[] getCriticalTasks() {
+        if (lengths.isEmpty()) {
+            return new int[0];
+        }
+        final List<Integer> critical = new ArrayList<>();
+        for (int task = firstInGroup.get(lengths.last()); task != -1; task = nextInGroup[task]) {
+            critical.add(task);
+        }
+        return critical.stream()
+            .mapToInt(task -> task)
+            .sorted()
+            .toArray();
+    }
+
+    /**
+     * @return how much the critical tasks can be shortened before some other task becomes critical,
+     * {@link Integer#MAX_VALUE} if all tasks are critical
+     */
+    int getMinPositiveFloat() {
+        final Integer nextLength = lengths.isEmpty() ? null : lengths.lower(lengths.last());
+        return nextLength == null ? Integer.MAX_VALUE : lengths.last() - nextLength;
+    }
+
+    /**
+     * Whether {@code to} starts right when {@code from} finishes, i.e. the dependency lies on a critical path
+     * if both tasks are critical.
+     */
+    boolean isTight(final int from, final int to) {
+        return earlyStart[from] + duration[from] == earlyStart[to];
+    }
+
+    /**
+     * Shorten the {@code shortened} tasks and lengthen the {@code lengthened} ones by {@code delta}, and re-evaluate
+     * only the affected part of the network. Swapping both arguments reverts the change.
+     */
+    void shorten(final int[] shortened, final int[] lengthened, final int delta) {
+        change(shortened, -delta);
+        change(lengthened, delta);
+
+        while (!forward.isEmpty()) {
+            final int position = forward.poll();
+            dirty[position] = false;
+            final int task = order[position];
+            final int start = maxEarlyFinish(predecessors[task]);
+            if (start != earlyStart[task]) {
+                final int before = length(task);
+                earlyStart[task] = start;
+                regroup(task, before);
+                for (int successor : successors[task]) {
+                    markDirty(successor, forward);
+                }
+            }
+        }
+
+        for (int task : shortened) {
+            markDirty(task, backward);
+        }
+        for (int task : lengthened) {
+            markDirty(task, backward);
+        }
+        while (!backward.isEmpty()) {
+            final int position = backward.poll();
+            dirty[position] = false;
+            final int task = order[position];
+            final int length = duration[task] + maxTail(successors[task]);
+            if (length != tail[task]) {
+                final int before = length(task);
+                tail[task] = length;
+                regroup(task, before);
+                for (int predecessor : predecessors[task]) {
+                    markDirty(predecessor, backward);
+                }
+            }
+        }
+    }
+
+    private void change(final int[] tasks, final int delta) {
+        for (int task : tasks) {
+            duration[task] += delta;
+            for (int successor : successors[task]) {
+                markDirty(successor, forward);
+            }
+        }
+    }
+
+    /**
+     * Kahn's algorithm.
+     */
+    private int[] topologicalOrder() {
+        final int[] remainingDependencies = new int[size];
+        final ArrayDeque<Integer> ready = new ArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            remainingDependencies[i] = predecessors[i].length;
+            if (remainingDependencies[i] == 0) {
+                ready.add(i);
+            }
+        }
+
+        final int[] order = new int[size];
+        int count = 0;
+        while (!ready.isEmpty()) {
+            final int task = ready.poll();
+            order[count++] = task;
+            for (int successor : successors[task]) {
+                if (--remainingDependencies[successor] == 0) {
+                    ready.add(successor);
+                }
+            }
+        }
+        return order;
+    }
+
+    private int maxEarlyFinish(final int[] tasks) {
+        int max = 0;
+        for (int task : tasks) {
+            max = Math.max(max, earlyStart[task] + duration[task]);
+        }
+        return max;
+    }
+
+    private int maxTail(final int[] tasks) {
+        int max = 0;
+        for (int task : tasks) {
+            max = Math.max(max, tail[task]);
+        }
+        return max;
+    }
+
+    private int length(final int task) {
+        return earlyStart[task] + tail[task];
+    }
+
+    /**
+     * Move the task to the group of its new length after its early start or tail changed.
+     */
+    private void regroup(final int task, final int previousLength) {
+        final int next = nextInGroup[task];
+        final int previous = previousInGroup[task];
+        if (previous != -1) {
+            nextInGroup[previous] = next;
+        } else if (next != -1) {
+            firstInGroup.put(previousLength, next);
+        } else {
+            firstInGroup.remove(previousLength);
+            lengths.remove(previousLength);
+        }
+        if (next != -1) {
+            previousInGroup[next] = previous;
+        }
+        group(task);
+    }
+
+    /**
+     * Link the task right after the first task of its group, so the map only changes when a group starts or ends.
+     */
+    private void group(final int task) {
+        final int length = length(task);
+        final Integer first = firstInGroup.putIfAbsent(length, task);
+        if (first == null) {
+            lengths.add(length);
+            previousInGroup[task] = -1;
+            nextInGroup[task] = -1;
+            return;
+        }
+        final int next = nextInGroup[first];
+        previousInGroup[task] = first;
+        nextInGroup[task] = next;
+        nextInGroup[first] = task;
+        if (next != -1) {
+            previousInGroup[next] = task;
+        }
+    }
+
+    private void markDirty(final int task, final PositionQueue queue) {
+        final int position = topologicalIndex[task];
+        if (!dirty[position]) {
+            dirty[position] = true;
+            queue.add(position);
+        }
+    }
+
+    /**
+     * Binary heap of topological positions, lowest first for {@code sign} 1 and highest first for -1.
+     * Positions are kept as primitives, a sweep may take most of the network.
+     */
+    private static class PositionQueue {
+        private final int sign;
+        private int[] heap = new int[16];
+        private int count;
+
+        PositionQueue(final int sign) {
+            this.sign = sign;
+        }
+
+        boolean isEmpty() {
+            return count == 0;
+        }
+
+        void add(final int position) {
+            if (count == heap.length) {
+                heap = Arrays.copyOf(heap, 2 * count);
+            }
+            final int key = sign * position;
+            int child = count++;
+            while (child > 0 && heap[(child - 1) / 2] > key) {
+                heap[child] = heap[(child - 1) / 2];
+                child = (child - 1) / 2;
+            }
+            heap[child] = key;
+        }
+
+        int poll() {
+            final int first = heap[0];
+            final int key = heap[--count];
+            int parent = 0;
+            while (2 * parent + 1 < count) {
+                int child = 2 * parent + 1;
+                if (child + 1 < count && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (heap[child] >= key) {
+                    break;
+                }
+                heap[parent] = heap[child];
+                parent = child;
+            }
+            heap[parent] = key;
+            return sign * first;
+        }
+    }
+}
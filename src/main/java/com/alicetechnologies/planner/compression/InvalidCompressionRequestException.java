@@ -0,0 +1,12 @@
+package com.alicetechnologies.planner.compression;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCompressionRequestException extends RuntimeException {
+
+    public InvalidCompressionRequestException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,140 @@
+package com.alicetechnologies.planner.compression;
+
+import java.util.Arrays;
+
+/**
+ * Minimum s-t cut by Dinic's max-flow algorithm over a compact adjacency list.
+ * <p>
+ * Path search is iterative, critical paths of large projects are far too long for recursion.
+ */
+class MinCut {
+    private static final double EPSILON = 1e-9;
+
+    private final int nodeCount;
+    private final int[] head;
+    private int[] next;
+    private int[] target;
+    private double[] capacity;
+    private int edgeCount;
+
+    private final int[] level;
+    private final int[] currentEdge;
+    private final int[] queue;
+
+    MinCut(final int nodeCount, final int expectedEdges) {
+        this.nodeCount = nodeCount;
+        this.head = new int[nodeCount];
+        Arrays.fill(head, -1);
+        final int edges = Math.max(2, expectedEdges * 2);
+        this.next = new int[edges];
+        this.target = new int[edges];
+        this.capacity = new double[edges];
+        this.level = new int[nodeCount];
+        this.currentEdge = new int[nodeCount];
+        this.queue = new int[nodeCount];
+    }
+
+    /**
+     * Add a directed edge together with its zero capacity residual counterpart at index {@code edge ^ 1}.
+     */
+    void addEdge(final int from, final int to, final double edgeCapacity) {
+        if (edgeCount + 2 > target.length) {
+            final int length = target.length * 2;
+            next = Arrays.copyOf(next, length);
+            target = Arrays.copyOf(target, length);
+            capacity = Arrays.copyOf(capacity, length);
+        }
+        link(from, to, edgeCapacity);
+        link(to, from, 0);
+    }
+
+    double maxFlow(final int source, final int sink) {
+        double flow = 0;
+        final int[] path = new int[nodeCount];
+        while (buildLevels(source, sink)) {
+            System.arraycopy(head, 0, currentEdge, 0, nodeCount);
+            int depth = 0;
+            int node = source;
+            while (true) {
+                if (node == sink) {
+                    double bottleneck = Double.POSITIVE_INFINITY;
+                    for (int i = 0; i < depth; i++) {
+                        bottleneck = Math.min(bottleneck, capacity[path[i]]);
+                    }
+                    for (int i = 0; i < depth; i++) {
+                        capacity[path[i]] -= bottleneck;
+                        capacity[path[i] ^ 1] += bottleneck;
+                    }
+                    flow += bottleneck;
+                    depth = 0;
+                    node = source;
+                    continue;
+                }
+
+                int edge = currentEdge[node];
+                while (edge != -1 && (capacity[edge] <= EPSILON || level[target[edge]] != level[node] + 1)) {
+                    edge = next[edge];
+                }
+                currentEdge[node] = edge;
+
+                if (edge != -1) {
+                    path[depth++] = edge;
+                    node = target[edge];
+                } else if (node == source) {
+                    break;
+                } else {
+                    // dead end, never visit again in this phase and step back
+                    level[node] = -1;
+                    final int back = path[--depth];
+                    node = target[back ^ 1];
+                    currentEdge[node] = next[currentEdge[node]];
+                }
+            }
+        }
+        return flow;
+    }
+
+    /**
+     * @return nodes reachable from the source in the residual graph, valid after {@link #maxFlow}
+     */
+    boolean[] sourceSide(final int source) {
+        final boolean[] reachable = new boolean[nodeCount];
+        int tail = 0;
+        queue[tail++] = source;
+        reachable[source] = true;
+        for (int i = 0; i < tail; i++) {
+            final int node = queue[i];
+            for (int edge = head[node]; edge != -1; edge = next[edge]) {
+                if (capacity[edge] > EPSILON && !reachable[target[edge]]) {
+                    reachable[target[edge]] = true;
+                    queue[tail++] = target[edge];
+                }
+            }
+        }
+        return reachable;
+    }
+
+    private void link(final int from, final int to, final double edgeCapacity) {
+        target[edgeCount] = to;
+        capacity[edgeCount] = edgeCapacity;
+        next[edgeCount] = head[from];
+        head[from] = edgeCount++;
+    }
+
+    private boolean buildLevels(final int source, final int sink) {
+        Arrays.fill(level, -1);
+        int tail = 0;
+        queue[tail++] = source;
+        level[source] = 0;
+        for (int i = 0; i < tail; i++) {
+            final int node = queue[i];
+            for (int edge = head[node]; edge != -1; edge = next[edge]) {
+                if (capacity[edge] > EPSILON && level[target[edge]] < 0) {
+                    level[target[edge]] = level[node] + 1;
+                    queue[tail++] = target[edge];
+                }
+            }
+        }
+        return level[sink] >= 0;
+    }
+}
@@ -0,0 +1,29 @@
+package com.alicetechnologies.planner.compression.dto;
+
+import com.alicetechnologies.planner.task.dto.Task;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema
+public class CompressionRequestDto {
+
+    @Schema(description = "how many time units the project should be shortened by, as far as possible when 0")
+    private int targetReduction;
+
+    @Builder.Default
+    private List<CrashCost> crashCosts = List.of();
+
+    @ArraySchema(arraySchema = @Schema(description = "project to compress, the planner input file when absent"))
+    private @Nullable List<Task> tasks;
+}
@@ -0,0 +1,49 @@
+package com.alicetechnologies.planner.compression.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@Schema
+public class CompressionResponseDto {
+
+    private int originalDuration;
+    private int totalDuration;
+    private double totalCost;
+
+    @Schema(description = "time/cost trade-off curve, one point per compression step starting with the original plan")
+    private List<TradeOffPoint> tradeOffCurve;
+
+    @Schema(description = "whether the curve stops at planner.compression.max-steps before reaching the target")
+    private boolean stepLimitReached;
+
+    @Schema(description = "tasks shortened to reach totalDuration")
+    private List<CrashedTask> crashedTasks;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @Schema
+    public static class TradeOffPoint {
+        private int totalDuration;
+        private double totalCost;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @Schema
+    public static class CrashedTask {
+        private String taskCode;
+        private String operationName;
+        private int originalDuration;
+        private int duration;
+        private double cost;
+    }
+}
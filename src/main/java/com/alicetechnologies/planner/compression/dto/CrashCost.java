@@ -0,0 +1,24 @@
+package com.alicetechnologies.planner.compression.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.annotation.Nullable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "how far and at what cost tasks can be shortened, matched by taskCode or else by operationName")
+public class CrashCost {
+
+    private @Nullable String taskCode;
+    private @Nullable String operationName;
+    @Schema(description = "the shortest duration the task can be crashed to, in time units")
+    private int minDuration;
+    @Schema(description = "cost of shortening the task by one time unit")
+    private double costPerUnit;
+}
@@ -0,0 +1,123 @@
+package com.alicetechnologies.planner.compute;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated, bounded pool for heavy evaluations (e.g. critical path over a posted project).
+ * <p>
+ * Request threads only hand the work over and return a {@link CompletableFuture}, so cheap reads
+ * are never queued behind long evaluations. Admission is bounded by {@code planner.compute.threads}
+ * running plus {@code planner.compute.queue-capacity} waiting evaluations; anything beyond that is
+ * rejected immediately with {@link ComputeRejectedException} instead of piling up.
+ */
+@Component
+public class ComputeExecutor implements DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+
+    private final long evaluationTimeoutMs;
+
+    public ComputeExecutor(
+        @Value("${planner.compute.threads:4}") final int threads,
+        @Value("${planner.compute.queue-capacity:16}") final int queueCapacity,
+        @Value("${planner.compute.evaluation-timeout-ms:30000}") final long evaluationTimeoutMs
+    ) {
+        this.executor = new ThreadPoolExecutor(
+            threads, threads,
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new ComputeThreadFactory(),
+            new ThreadPoolExecutor.AbortPolicy());
+        this.evaluationTimeoutMs = evaluationTimeoutMs;
+    }
+
+    /**
+     * Run {@code work} on the compute pool.
+     * <p>
+     * The returned future fails with {@link ComputeTimeoutException} if the work does not finish in time, queueing
+     * included. A running worker is then interrupted and a queued one removed from the queue, so the slot is released
+     * right away. Work is expected to call {@link #checkInterrupted()} in its loops.
+     *
+     * @throws ComputeRejectedException if the pool and its queue are full
+     */
+    public <T> CompletableFuture<T> submit(final Supplier<T> work) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final CompletableFuture<T> response = new CompletableFuture<>();
+        final Future<?> running;
+        try {
+            running = executor.submit(() -> {
+                try {
+                    result.complete(work.get());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw new ComputeRejectedException("Compute pool saturated: " + executor.getActiveCount()
+                + " running, " + executor.getQueue().size() + " queued", e);
+        }
+
+        // the timer is cancelled as soon as the work completes
+        result.orTimeout(evaluationTimeoutMs, TimeUnit.MILLISECONDS).whenComplete((value, error) -> {
+            if (error == null) {
+                response.complete(value);
+                return;
+            }
+            running.cancel(true);
+            executor.remove((Runnable) running);
+            response.completeExceptionally(error instanceof TimeoutException
+                ? new ComputeTimeoutException("Evaluation exceeded " + evaluationTimeoutMs + " ms")
+                : error);
+        });
+        return response;
+    }
+
+    /**
+     * Stop work on the compute pool once it has been interrupted because its evaluation timed out.
+     *
+     * @throws CancellationException if the current thread has been interrupted
+     */
+    public static void checkInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Evaluation interrupted");
+        }
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private static class ComputeThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, "planner-compute-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
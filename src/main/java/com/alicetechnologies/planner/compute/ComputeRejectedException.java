@@ -0,0 +1,15 @@
+package com.alicetechnologies.planner.compute;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when the compute pool and its admission queue are both full. Surfaced to clients as {@code 429}.
+ */
+@ResponseStatus(value = HttpStatus.TOO_MANY_REQUESTS, reason = "Compute pool saturated, retry later")
+public class ComputeRejectedException extends RuntimeException {
+
+    public ComputeRejectedException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
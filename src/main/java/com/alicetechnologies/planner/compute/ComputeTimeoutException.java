@@ -0,0 +1,15 @@
+package com.alicetechnologies.planner.compute;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an evaluation does not finish within {@code planner.compute.evaluation-timeout-ms}.
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "Evaluation timed out")
+public class ComputeTimeoutException extends RuntimeException {
+
+    public ComputeTimeoutException(final String message) {
+        super(message);
+    }
+}
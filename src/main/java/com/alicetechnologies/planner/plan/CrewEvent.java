@@ -0,0 +1,32 @@
+package com.alicetechnologies.planner.plan;
+
+import com.alicetechnologies.planner.task.dto.Task;
+import com.alicetechnologies.planner.task.dto.TaskEvaluated;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Optional;
+
+/**
+ * Change of the number of crew members in use at a time point. A task occupies its crew in
+ * {@code [earlyStart, earlyFinish)}, so it contributes one event at each end.
+ */
+class CrewEvent {
+    static final Comparator<CrewEvent> ORDER = Comparator.comparingInt(event -> event.time);
+
+    final int time;
+    final int delta;
+
+    CrewEvent(final int time, final int delta) {
+        this.time = time;
+        this.delta = delta;
+    }
+
+    static void addTo(final Collection<CrewEvent> events, final TaskEvaluated task) {
+        final int assignment = Optional.ofNullable(task.getTask().getCrew())
+            .map(Task.Crew::getAssignment)
+            .orElse(0);
+        events.add(new CrewEvent(task.getEarlyStart(), assignment));
+        events.add(new CrewEvent(task.getEarlyFinish(), -assignment));
+    }
+}
@@ -2,32 +2,85 @@ package com.alicetechnologies.planner.plan;
 
 import com.alicetechnologies.planner.PlannerApplication;
 import com.alicetechnologies.planner.CriticalPathEngine;
+import com.alicetechnologies.planner.compute.ComputeExecutor;
+import com.alicetechnologies.planner.task.TaskListValidator;
+import com.alicetechnologies.planner.task.dto.Task;
+import com.google.common.base.Suppliers;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
 @RestController
 @RequestMapping(value = PlannerApplication.API_PLAN, produces = MediaType.APPLICATION_JSON_VALUE)
 public class PlannerController {
 
     final CriticalPathEngine criticalPathEngine;
     final CrewMemberService crewMemberService;
+    final ComputeExecutor computeExecutor;
+    final RollupService rollupService;
+    final TaskListValidator taskListValidator;
+
+    /**
+     * The loaded project never changes, evaluate its plan once so reads stay cheap.
+     */
+    private final Supplier<PlanResponseDto> plan;
 
     public PlannerController(
         final CriticalPathEngine criticalPathEngine,
-        final CrewMemberService crewMemberService
+        final CrewMemberService crewMemberService,
+        final ComputeExecutor computeExecutor,
+        final RollupService rollupService,
+        final TaskListValidator taskListValidator
     ) {
         this.criticalPathEngine = criticalPathEngine;
         this.crewMemberService = crewMemberService;
+        this.computeExecutor = computeExecutor;
+        this.rollupService = rollupService;
+        this.taskListValidator = taskListValidator;
+        this.plan = Suppliers.memoize(() -> PlanResponseDto.builder()
+            .totalDuration(criticalPathEngine.getTotalDuration())
+            .maxCrewMembers(crewMemberService.getMaxCrewMembers(criticalPathEngine.getTasks()))
+            .build());
     }
 
     @GetMapping
     public PlanResponseDto getPlan() {
-        return PlanResponseDto.builder()
-            .totalDuration(criticalPathEngine.getTotalDuration())
-            .maxCrewMembers(crewMemberService.getMaxCrewMembers(criticalPathEngine.getTasks()))
-            .build();
+        return plan.get();
+    }
+
+    /**
+     * Schedule aggregated by element hierarchy, e.g. per building or per level.
+     *
+     * @param level one of `planner.rollup.levels`, the top level by default
+     */
+    @GetMapping("/rollup")
+    public List<RollupNodeDto> getRollup(@RequestParam(required = false) final String level) {
+        return rollupService.getRollup(level == null ? rollupService.getLevels().get(0) : level);
+    }
+
+    /**
+     * Evaluate an ad-hoc project. The evaluation runs on the bounded compute pool, the request thread is released
+     * immediately. Responds with {@code 400} for an invalid task list, {@code 429} when the pool is saturated
+     * and {@code 503} when the evaluation times out.
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<PlanResponseDto> evaluatePlan(@RequestBody final List<Task> tasks) {
+        taskListValidator.validate(tasks);
+        return computeExecutor.submit(() -> {
+            final CriticalPathEngine engine = new CriticalPathEngine(tasks);
+            return PlanResponseDto.builder()
+                .totalDuration(engine.getTotalDuration())
+                .maxCrewMembers(crewMemberService.getMaxCrewMembers(engine.getTasks()))
+                .build();
+        });
     }
 
 }
@@ -0,0 +1,33 @@
+package com.alicetechnologies.planner.plan;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@AllArgsConstructor
+@Schema
+public class RollupNodeDto {
+
+    @Schema(description = "element name prefix identifying the node, e.g. B1_C_L8")
+    private String path;
+    @Schema(description = "last segment of the path, e.g. L8")
+    private String name;
+    private String level;
+
+    @Schema(description = "earliest start interval of any task in the node")
+    private int start;
+    @Schema(description = "latest end interval of any task in the node")
+    private int finish;
+    @Schema(description = "finish minus start")
+    private int totalDuration;
+
+    private int taskCount;
+    @Schema(description = "number of tasks on a critical path")
+    private int criticalTaskCount;
+    @Schema(description = "the highest sum of crew members utilized by the node's tasks at any given moment")
+    private int peakCrewMembers;
+
+}
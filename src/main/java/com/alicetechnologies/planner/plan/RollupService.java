@@ -0,0 +1,220 @@
+package com.alicetechnologies.planner.plan;
+
+import com.alicetechnologies.planner.CriticalPathEngine;
+import com.alicetechnologies.planner.task.dto.TaskEvaluated;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Schedule roll-ups by element hierarchy. Element names like {@code B1_C_L8_Interior} are split by
+ * `planner.rollup.separator` into the levels listed in `planner.rollup.levels` (building, zone, level, element)
+ * and arranged into a prefix tree.
+ * <p>
+ * A segment only specifies a level if it matches the level's pattern in `planner.rollup.patterns` (any segment
+ * when the level has none), otherwise the level is skipped. The last segment is always part of the element, and so
+ * is every segment from the first one which matches none of the remaining levels: {@code B1_A_Excavation} is element {@code Excavation}
+ * of zone {@code A} in building {@code B1} without a level, {@code B1_North_Mast Climber} is element
+ * {@code North_Mast Climber} of building {@code B1}, and {@code Crane_TCA} is an element outside of any building.
+ * Tasks without an element name are rolled up as element `planner.rollup.unassigned`.
+ * <p>
+ * So every level covers exactly the tasks whose names specify it, and the last level covers all tasks.
+ * <p>
+ * The tree is built once after evaluation, afterwards a level is served from a precomputed list.
+ */
+@Service
+public class RollupService {
+
+    private final List<String> levels;
+    /**
+     * Pattern of a segment specifying the level, per index into {@link #levels}.
+     */
+    private final List<Pattern> patterns;
+    private final String separator;
+    private final String unassigned;
+
+    /**
+     * Nodes of the prefix tree per level, in order of their start.
+     */
+    private final Map<String, List<RollupNodeDto>> nodesByLevel;
+
+    public RollupService(
+        final CriticalPathEngine criticalPathEngine,
+        @Value("${planner.rollup.separator:_}") final String separator,
+        @Value("${planner.rollup.levels:building,zone,level,element}") final List<String> levels,
+        @Value("#{${planner.rollup.patterns:{:}}}") final Map<String, String> patterns,
+        @Value("${planner.rollup.unassigned:Unassigned}") final String unassigned
+    ) {
+        this.separator = separator;
+        this.unassigned = unassigned;
+        this.levels = List.copyOf(levels);
+        this.patterns = compile(this.levels, patterns);
+        this.nodesByLevel = buildRollup(criticalPathEngine.getTasks());
+    }
+
+    public List<String> getLevels() {
+        return levels;
+    }
+
+    /**
+     * @param level one of `planner.rollup.levels`
+     * @return all nodes at the given level
+     */
+    public List<RollupNodeDto> getRollup(final String level) {
+        final List<RollupNodeDto> nodes = nodesByLevel.get(level);
+        if (nodes == null) {
+            throw new UnknownRollupLevelException(level, levels);
+        }
+        return nodes;
+    }
+
+    private Map<String, List<RollupNodeDto>> buildRollup(final Collection<TaskEvaluated> tasks) {
+        final int lastLevel = levels.size() - 1;
+        final Node root = new Node(null, "", -1);
+        for (TaskEvaluated task : tasks) {
+            final List<String> segments = split(task.getTask().getElementName());
+            Node node = root;
+            int next = 0;
+            for (int level = 0; level < lastLevel && next < segments.size() - 1; level++) {
+                if (patterns.get(level).matcher(segments.get(next)).matches()) {
+                    node = node.child(level, segments.get(next++));
+                }
+            }
+            final String element = String.join(separator, segments.subList(next, segments.size()));
+            node.child(lastLevel, element).tasks.add(task);
+        }
+
+        final Map<String, List<RollupNodeDto>> result = new LinkedHashMap<>();
+        levels.forEach(level -> result.put(level, new ArrayList<>()));
+        root.children().forEach(child -> aggregate(child, result));
+        result.replaceAll((level, nodes) -> {
+            nodes.sort(Comparator.comparingInt(RollupNodeDto::getStart).thenComparing(RollupNodeDto::getPath));
+            return Collections.unmodifiableList(nodes);
+        });
+        return result;
+    }
+
+    private List<String> split(final String elementName) {
+        if (elementName == null || elementName.isEmpty()) {
+            return List.of(unassigned);
+        }
+        return Arrays.asList(elementName.split(Pattern.quote(separator), -1));
+    }
+
+    private static List<Pattern> compile(final List<String> levels, final Map<String, String> patterns) {
+        patterns.keySet().stream()
+            .filter(level -> !levels.contains(level))
+            .findAny()
+            .ifPresent(level -> {
+                throw new IllegalArgumentException("Rollup pattern for unknown level " + level + ", known " + levels);
+            });
+        return levels.stream()
+            .map(level -> Pattern.compile(patterns.getOrDefault(level, ".*")))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Post-order aggregation: every node combines its own tasks with already aggregated children.
+     *
+     * @return crew usage events of all tasks under the node, sorted by time
+     */
+    private List<CrewEvent> aggregate(final Node node, final Map<String, List<RollupNodeDto>> result) {
+        int start = Integer.MAX_VALUE;
+        int finish = Integer.MIN_VALUE;
+        int taskCount = 0;
+        int criticalTaskCount = 0;
+        final List<List<CrewEvent>> eventLists = new ArrayList<>();
+
+        for (Node child : node.children()) {
+            eventLists.add(aggregate(child, result));
+            final RollupNodeDto aggregated = child.aggregated;
+            start = Math.min(start, aggregated.getStart());
+            finish = Math.max(finish, aggregated.getFinish());
+            taskCount += aggregated.getTaskCount();
+            criticalTaskCount += aggregated.getCriticalTaskCount();
+        }
+
+        final List<CrewEvent> ownEvents = new ArrayList<>();
+        for (TaskEvaluated task : node.tasks) {
+            start = Math.min(start, task.getEarlyStart());
+            finish = Math.max(finish, task.getEarlyFinish());
+            taskCount++;
+            if (task.isCritical()) {
+                criticalTaskCount++;
+            }
+            CrewEvent.addTo(ownEvents, task);
+        }
+        ownEvents.sort(CrewEvent.ORDER);
+        eventLists.add(ownEvents);
+
+        final List<CrewEvent> events = merge(eventLists);
+        node.aggregated = RollupNodeDto.builder()
+            .path(node.path)
+            .name(node.name)
+            .level(levels.get(node.level))
+            .start(start)
+            .finish(finish)
+            .totalDuration(finish - start)
+            .taskCount(taskCount)
+            .criticalTaskCount(criticalTaskCount)
+            .peakCrewMembers(CrewMemberService.peak(events))
+            .build();
+        result.get(levels.get(node.level)).add(node.aggregated);
+        return events;
+    }
+
+    private static List<CrewEvent> merge(final List<List<CrewEvent>> sortedLists) {
+        if (sortedLists.size() == 1) {
+            return sortedLists.get(0);
+        }
+        final List<CrewEvent> merged = new ArrayList<>();
+        sortedLists.forEach(merged::addAll);
+        // TimSort detects the pre-sorted runs and only merges them, O(n log k) for k runs
+        merged.sort(CrewEvent.ORDER);
+        return merged;
+    }
+
+    private class Node {
+        private final String path;
+        private final String name;
+        /**
+         * Index into {@link #levels}.
+         */
+        private final int level;
+        /**
+         * Children at the next level, and elements of names which skip the levels in between.
+         */
+        private final Map<String, Node> children = new LinkedHashMap<>();
+        private final Map<String, Node> elements = new LinkedHashMap<>();
+        private final List<TaskEvaluated> tasks = new ArrayList<>();
+        private RollupNodeDto aggregated;
+
+        Node(final String path, final String name, final int level) {
+            this.path = path;
+            this.name = name;
+            this.level = level;
+        }
+
+        Node child(final int childLevel, final String segment) {
+            final Map<String, Node> nodes = childLevel == level + 1 ? children : elements;
+            return nodes.computeIfAbsent(segment, name ->
+                new Node(path == null ? name : path + separator + name, name, childLevel));
+        }
+
+        List<Node> children() {
+            final List<Node> all = new ArrayList<>(children.values());
+            all.addAll(elements.values());
+            return all;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.alicetechnologies.planner.plan;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.List;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class UnknownRollupLevelException extends RuntimeException {
+
+    public UnknownRollupLevelException(final String level, final List<String> levels) {
+        super("Unknown roll-up level '" + level + "', expected one of " + levels);
+    }
+}
@@ -0,0 +1,58 @@
+package com.alicetechnologies.planner.schedule;
+
+import com.alicetechnologies.planner.PlannerApplication;
+import com.alicetechnologies.planner.schedule.dto.ScheduleDiffDto;
+import com.alicetechnologies.planner.schedule.dto.ScheduleSummaryDto;
+import com.alicetechnologies.planner.schedule.dto.ScheduleVersion;
+import com.alicetechnologies.planner.task.dto.Task;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping(value = PlannerApplication.API_SCHEDULE, produces = MediaType.APPLICATION_JSON_VALUE)
+public class ScheduleController {
+
+    private final ScheduleService scheduleService;
+
+    public ScheduleController(final ScheduleService scheduleService) {
+        this.scheduleService = scheduleService;
+    }
+
+    /**
+     * Evaluate and publish a task set as a new schedule version.
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ScheduleSummaryDto> publish(@RequestBody final List<Task> tasks) {
+        return scheduleService.publish(tasks)
+            .thenApply(ScheduleController::toSummary);
+    }
+
+    @GetMapping("/{version}")
+    public ScheduleVersion getVersion(@PathVariable final long version) {
+        return scheduleService.getVersion(version);
+    }
+
+    @GetMapping("/diff")
+    public CompletableFuture<ScheduleDiffDto> diff(@RequestParam final long from, @RequestParam final long to) {
+        return scheduleService.diff(from, to);
+    }
+
+    private static ScheduleSummaryDto toSummary(final ScheduleVersion schedule) {
+        return ScheduleSummaryDto.builder()
+            .version(schedule.getVersion())
+            .publishedAt(schedule.getPublishedAt())
+            .totalDuration(schedule.getTotalDuration())
+            .maxCrewMembers(schedule.getMaxCrewMembers())
+            .taskCount(schedule.getTasks().size())
+            .build();
+    }
+}
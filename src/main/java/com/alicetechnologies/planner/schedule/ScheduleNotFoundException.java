@@ -0,0 +1,12 @@
+package com.alicetechnologies.planner.schedule;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ScheduleNotFoundException extends RuntimeException {
+
+    public ScheduleNotFoundException(final long version) {
+        super("Schedule version " + version + " does not exist");
+    }
+}
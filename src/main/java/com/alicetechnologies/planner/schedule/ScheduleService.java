@@ -0,0 +1,132 @@
+package com.alicetechnologies.planner.schedule;
+
+import com.alicetechnologies.planner.CriticalPathEngine;
+import com.alicetechnologies.planner.compute.ComputeExecutor;
+import com.alicetechnologies.planner.plan.CrewMemberService;
+import com.alicetechnologies.planner.schedule.dto.ScheduleDiffDto;
+import com.alicetechnologies.planner.schedule.dto.ScheduleVersion;
+import com.alicetechnologies.planner.schedule.dto.ScheduledTask;
+import com.alicetechnologies.planner.task.TaskListValidator;
+import com.alicetechnologies.planner.task.dto.Task;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ScheduleService {
+
+    private final ScheduleStore scheduleStore;
+    private final CrewMemberService crewMemberService;
+    private final ComputeExecutor computeExecutor;
+    private final TaskListValidator taskListValidator;
+
+    public ScheduleService(
+        final ScheduleStore scheduleStore,
+        final CrewMemberService crewMemberService,
+        final ComputeExecutor computeExecutor,
+        final TaskListValidator taskListValidator
+    ) {
+        this.scheduleStore = scheduleStore;
+        this.crewMemberService = crewMemberService;
+        this.computeExecutor = computeExecutor;
+        this.taskListValidator = taskListValidator;
+    }
+
+    /**
+     * Evaluate the task set on the compute pool and persist it together with the evaluated result as a new version.
+     *
+     * @throws com.alicetechnologies.planner.task.InvalidTaskListException right away, if the task set is invalid
+     */
+    public CompletableFuture<ScheduleVersion> publish(final Collection<Task> tasks) {
+        taskListValidator.validate(tasks);
+        return computeExecutor.submit(() -> evaluate(tasks))
+            .thenCompose(scheduleStore::append);
+    }
+
+    public ScheduleVersion getVersion(final long version) {
+        return scheduleStore.get(version)
+            .orElseThrow(() -> new ScheduleNotFoundException(version));
+    }
+
+    /**
+     * Compare two stored versions on the compute pool: tasks added, removed or scheduled to a different interval, and
+     * duration deltas. Both versions are read and deserialized in full, which does not belong on a request thread.
+     */
+    public CompletableFuture<ScheduleDiffDto> diff(final long fromVersion, final long toVersion) {
+        return computeExecutor.submit(() -> compare(fromVersion, toVersion));
+    }
+
+    private ScheduleDiffDto compare(final long fromVersion, final long toVersion) {
+        final ScheduleVersion from = getVersion(fromVersion);
+        final ScheduleVersion to = getVersion(toVersion);
+
+        final Map<String, ScheduledTask> fromTasks = byTaskCode(from.getTasks());
+        final Map<String, ScheduledTask> toTasks = byTaskCode(to.getTasks());
+
+        final List<ScheduleDiffDto.IntervalChange> changes = new ArrayList<>();
+        toTasks.forEach((taskCode, toTask) -> {
+            ComputeExecutor.checkInterrupted();
+            final ScheduledTask fromTask = fromTasks.get(taskCode);
+            if (fromTask == null
+                || fromTask.getStartInterval() != toTask.getStartInterval()
+                || fromTask.getEndInterval() != toTask.getEndInterval()) {
+                changes.add(change(taskCode, fromTask, toTask));
+            }
+        });
+        fromTasks.forEach((taskCode, fromTask) -> {
+            if (!toTasks.containsKey(taskCode)) {
+                changes.add(change(taskCode, fromTask, null));
+            }
+        });
+
+        return ScheduleDiffDto.builder()
+            .fromVersion(fromVersion)
+            .toVersion(toVersion)
+            .totalDurationDelta(to.getTotalDuration() - from.getTotalDuration())
+            .maxCrewMembersDelta(to.getMaxCrewMembers() - from.getMaxCrewMembers())
+            .changes(changes)
+            .build();
+    }
+
+    private ScheduleVersion evaluate(final Collection<Task> tasks) {
+        final CriticalPathEngine engine = new CriticalPathEngine(tasks);
+        return ScheduleVersion.builder()
+            .totalDuration(engine.getTotalDuration())
+            .maxCrewMembers(crewMemberService.getMaxCrewMembers(engine.getTasks()))
+            .tasks(engine.getTasks().stream()
+                .map(task -> ScheduledTask.builder()
+                    .task(task.getTask())
+                    .startInterval(task.getEarlyStart())
+                    .endInterval(task.getEarlyFinish())
+                    .build())
+                .collect(Collectors.toList()))
+            .build();
+    }
+
+    private static Map<String, ScheduledTask> byTaskCode(final List<ScheduledTask> tasks) {
+        return tasks.stream()
+            .collect(Collectors.toMap(task -> task.getTask().getTaskCode(), Function.identity(),
+                (first, second) -> first, LinkedHashMap::new));
+    }
+
+    private static ScheduleDiffDto.IntervalChange change(
+        final String taskCode,
+        final ScheduledTask fromTask,
+        final ScheduledTask toTask
+    ) {
+        return ScheduleDiffDto.IntervalChange.builder()
+            .taskCode(taskCode)
+            .fromStart(fromTask == null ? null : fromTask.getStartInterval())
+            .fromEnd(fromTask == null ? null : fromTask.getEndInterval())
+            .toStart(toTask == null ? null : toTask.getStartInterval())
+            .toEnd(toTask == null ? null : toTask.getEndInterval())
+            .build();
+    }
+}
@@ -0,0 +1,520 @@
+package com.alicetechnologies.planner.schedule;
+
+import com.alicetechnologies.planner.schedule.dto.ScheduleVersion;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Embedded append-only store of published {@link ScheduleVersion}s. Configurable by `planner.store.*` properties.
+ * <p>
+ * Versions are appended to segment files ({@code <first version>.seg}), each record being
+ * {@code [int length][int crc32][long version][json payload]}. Every segment has a companion index file
+ * ({@code <first version>.idx}) of fixed size {@code [long version][long offset][int length]} entries, which is loaded
+ * on startup so retrieving any version is a single positional read. Segments are rolled once they exceed
+ * `planner.store.segment-size-bytes`; nothing is ever rewritten or deleted.
+ * <p>
+ * Writes are handed to a single writer thread which groups everything queued meanwhile into one batch
+ * and fsyncs it once (group commit). A version becomes readable only after its batch is durable.
+ * The directory itself is fsync'd whenever a file is created in it, so new segments survive a power loss too.
+ */
+@Component
+public class ScheduleStore implements DisposableBean {
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final int RECORD_HEADER_BYTES = Integer.BYTES + Integer.BYTES + Long.BYTES;
+    private static final int INDEX_ENTRY_BYTES = Long.BYTES + Long.BYTES + Integer.BYTES;
+    private static final int MAX_BATCH_SIZE = 256;
+    /**
+     * Directories cannot be opened as a channel on Windows, NTFS persists directory entries with the file instead.
+     */
+    private static final boolean DIRECTORY_SYNC = !System.getProperty("os.name").toLowerCase().startsWith("windows");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Path directory;
+    private final long segmentSizeBytes;
+    private final long groupCommitWindowMs;
+
+    /**
+     * Location of every durable version, shared with readers.
+     */
+    private final ConcurrentNavigableMap<Long, RecordLocation> index = new ConcurrentSkipListMap<>();
+
+    private final BlockingQueue<PendingAppend> pending = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    /**
+     * Guards {@link #running} together with enqueueing, so nothing is queued once the writer may have finished.
+     */
+    private final Object lifecycle = new Object();
+    private volatile boolean running = true;
+    private final AtomicLong commitCount = new AtomicLong();
+
+    /**
+     * Writer thread state, segment currently being appended to and the last assigned version.
+     */
+    private Segment active;
+    private long lastVersion;
+
+    public ScheduleStore(
+        @Value("${planner.store.directory:data/schedules}") final String directory,
+        @Value("${planner.store.segment-size-bytes:67108864}") final long segmentSizeBytes,
+        @Value("${planner.store.group-commit-window-ms:2}") final long groupCommitWindowMs
+    ) {
+        this.directory = Paths.get(directory);
+        this.segmentSizeBytes = segmentSizeBytes;
+        this.groupCommitWindowMs = groupCommitWindowMs;
+        open();
+        writer = new Thread(this::writeLoop, "planner-schedule-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queue {@code schedule} for the next group commit. Version and publish time are assigned by the store.
+     *
+     * @return the stored version, completed once it has been fsync'd
+     */
+    public CompletableFuture<ScheduleVersion> append(final ScheduleVersion schedule) {
+        final PendingAppend append = new PendingAppend(schedule);
+        synchronized (lifecycle) {
+            if (running) {
+                pending.add(append);
+                return append.result;
+            }
+        }
+        append.result.completeExceptionally(new IllegalStateException("Schedule store is closed"));
+        return append.result;
+    }
+
+    @SneakyThrows(IOException.class)
+    public Optional<ScheduleVersion> get(final long version) {
+        final RecordLocation location = index.get(version);
+        if (location == null) {
+            return Optional.empty();
+        }
+        final ByteBuffer payload = ByteBuffer.allocate(location.length);
+        readFully(location.segment.data, payload, location.offset + RECORD_HEADER_BYTES);
+        return Optional.of(objectMapper.readValue(payload.array(), ScheduleVersion.class));
+    }
+
+    /**
+     * @return the latest durable version, {@code 0} if nothing has been published yet
+     */
+    public long getLatestVersion() {
+        return index.isEmpty() ? 0 : index.lastKey();
+    }
+
+    /**
+     * @return number of group commits, i.e. fsyncs of appended data
+     */
+    long getCommitCount() {
+        return commitCount.get();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        stopAccepting();
+        writer.join();
+        for (Segment segment : index.values().stream().map(RecordLocation::getSegment).distinct().collect(Collectors.toList())) {
+            segment.close();
+        }
+        active.close();
+    }
+
+    private void stopAccepting() {
+        synchronized (lifecycle) {
+            running = false;
+        }
+    }
+
+    /**
+     * Load index files of all segments and recover their tails, dropping a torn record left behind by a crash
+     * during append. Index entries of the last segment are verified against the records they point to.
+     */
+    @SneakyThrows(IOException.class)
+    private void open() {
+        Files.createDirectories(directory);
+        syncDirectory(directory);
+        syncDirectory(directory.toAbsolutePath().getParent());
+        final List<Path> segmentFiles;
+        try (Stream<Path> files = Files.list(directory)) {
+            segmentFiles = files
+                .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+
+        for (int i = 0; i < segmentFiles.size(); i++) {
+            final String fileName = segmentFiles.get(i).getFileName().toString();
+            final long baseVersion = Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+            final Segment segment = Segment.open(directory, baseVersion);
+            final boolean last = i == segmentFiles.size() - 1;
+            recoverTail(segment, loadIndex(segment, last));
+            if (last) {
+                active = segment;
+            } else {
+                segment.sealIndex();
+            }
+        }
+
+        lastVersion = getLatestVersion();
+        if (active == null) {
+            active = Segment.open(directory, lastVersion + 1);
+        }
+    }
+
+    /**
+     * @param verify whether to check every indexed record itself, the index may be ahead of what reached the disk
+     * @return end offset of the last indexed record
+     */
+    private long loadIndex(final Segment segment, final boolean verify) throws IOException {
+        final long entries = segment.index.size() / INDEX_ENTRY_BYTES;
+        final long dataSize = segment.data.size();
+        final ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_BYTES);
+        long indexedEnd = 0;
+        long valid = 0;
+        for (long i = 0; i < entries; i++) {
+            entry.clear();
+            readFully(segment.index, entry, i * INDEX_ENTRY_BYTES);
+            entry.flip();
+            final long version = entry.getLong();
+            final long offset = entry.getLong();
+            final int length = entry.getInt();
+            if (offset != indexedEnd || length < 0 || offset + RECORD_HEADER_BYTES + length > dataSize
+                || verify && !isRecordValid(segment, offset, version, length)) {
+                // index entry written ahead of its record, the rest is recovered from the segment itself
+                break;
+            }
+            index.put(version, new RecordLocation(segment, offset, length));
+            indexedEnd = offset + RECORD_HEADER_BYTES + length;
+            valid++;
+        }
+        segment.index.truncate(valid * INDEX_ENTRY_BYTES);
+        return indexedEnd;
+    }
+
+    private boolean isRecordValid(
+        final Segment segment,
+        final long offset,
+        final long version,
+        final int length
+    ) throws IOException {
+        final ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + length);
+        readFully(segment.data, record, offset);
+        record.flip();
+        final int recordLength = record.getInt();
+        final int crc = record.getInt();
+        final long recordVersion = record.getLong();
+        final byte[] payload = new byte[length];
+        record.get(payload);
+        return recordLength == length && recordVersion == version && crc32(payload) == crc;
+    }
+
+    private void recoverTail(final Segment segment, long position) throws IOException {
+        final long dataSize = segment.data.size();
+        final ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+        while (position + RECORD_HEADER_BYTES <= dataSize) {
+            header.clear();
+            readFully(segment.data, header, position);
+            header.flip();
+            final int length = header.getInt();
+            final int crc = header.getInt();
+            final long version = header.getLong();
+            if (length < 0 || position + RECORD_HEADER_BYTES + length > dataSize) {
+                break;
+            }
+            final ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(segment.data, payload, position + RECORD_HEADER_BYTES);
+            if (crc32(payload.array()) != crc) {
+                break;
+            }
+            writeFully(segment.index, indexEntry(version, position, length), segment.index.size());
+            index.put(version, new RecordLocation(segment, position, length));
+            position += RECORD_HEADER_BYTES + length;
+        }
+        segment.data.truncate(position);
+        segment.data.force(true);
+        segment.index.force(true);
+    }
+
+    private void writeLoop() {
+        final List<PendingAppend> batch = new ArrayList<>();
+        while (running || !pending.isEmpty()) {
+            try {
+                final PendingAppend first = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collectBatch(batch);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stopAccepting();
+                batch.forEach(append -> append.result.completeExceptionally(e));
+                break;
+            } catch (RuntimeException e) {
+                // keep the writer alive, only the batch at hand fails
+                batch.forEach(append -> append.result.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+
+        PendingAppend rejected;
+        while ((rejected = pending.poll()) != null) {
+            rejected.result.completeExceptionally(new IllegalStateException("Schedule store is closed"));
+        }
+    }
+
+    /**
+     * Gather whatever is queued within the group commit window into the current batch.
+     */
+    private void collectBatch(final List<PendingAppend> batch) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(groupCommitWindowMs);
+        while (batch.size() < MAX_BATCH_SIZE) {
+            pending.drainTo(batch, MAX_BATCH_SIZE - batch.size());
+            final long remaining = deadline - System.nanoTime();
+            if (batch.size() >= MAX_BATCH_SIZE || remaining <= 0) {
+                return;
+            }
+            final PendingAppend next = pending.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    /**
+     * Append the whole batch and fsync once. On failure everything written by the batch is truncated again,
+     * so a failed append never leaves a record behind.
+     */
+    private void commit(final List<PendingAppend> batch) {
+        final long firstVersion = lastVersion;
+        final List<PendingAppend> written = new ArrayList<>();
+        final List<RecordLocation> locations = new ArrayList<>();
+        long dataStart = -1;
+        long indexStart = -1;
+        try {
+            if (active.data.size() >= segmentSizeBytes) {
+                rollSegment();
+            }
+            dataStart = active.data.size();
+            indexStart = active.index.size();
+            long position = dataStart;
+
+            for (PendingAppend append : batch) {
+                final long version = lastVersion + 1;
+                append.schedule.setVersion(version);
+                append.schedule.setPublishedAt(System.currentTimeMillis());
+                final byte[] payload;
+                try {
+                    payload = objectMapper.writeValueAsBytes(append.schedule);
+                } catch (JsonProcessingException e) {
+                    append.result.completeExceptionally(e);
+                    continue;
+                }
+
+                final ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + payload.length);
+                record.putInt(payload.length).putInt(crc32(payload)).putLong(version).put(payload).flip();
+                writeFully(active.data, record, position);
+                writeFully(active.index, indexEntry(version, position, payload.length),
+                    indexStart + (long) written.size() * INDEX_ENTRY_BYTES);
+
+                locations.add(new RecordLocation(active, position, payload.length));
+                written.add(append);
+                position += RECORD_HEADER_BYTES + payload.length;
+                lastVersion = version;
+            }
+
+            active.data.force(false);
+            active.index.force(false);
+            commitCount.incrementAndGet();
+        } catch (IOException | RuntimeException e) {
+            lastVersion = firstVersion;
+            rollback(dataStart, indexStart);
+            final RuntimeException error = e instanceof IOException
+                ? new UncheckedIOException("Failed to append schedule", (IOException) e)
+                : (RuntimeException) e;
+            batch.forEach(append -> append.result.completeExceptionally(error));
+            return;
+        }
+
+        for (int i = 0; i < written.size(); i++) {
+            index.put(written.get(i).schedule.getVersion(), locations.get(i));
+            written.get(i).result.complete(written.get(i).schedule);
+        }
+    }
+
+    private void rollback(final long dataStart, final long indexStart) {
+        if (dataStart < 0) {
+            return;
+        }
+        try {
+            active.data.truncate(dataStart);
+            active.index.truncate(indexStart);
+        } catch (IOException e) {
+            // the torn tail is dropped by recoverTail on next startup
+        }
+    }
+
+    /**
+     * The next segment is opened first, so a failure either leaves the current segment active and untouched
+     * or happens after the switch, while sealing a segment whose records are durable already.
+     */
+    private void rollSegment() throws IOException {
+        final Segment sealed = active;
+        active = Segment.open(directory, lastVersion + 1);
+        sealed.data.force(true);
+        sealed.sealIndex();
+    }
+
+    private static void syncDirectory(final Path directory) throws IOException {
+        if (!DIRECTORY_SYNC || directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    private static ByteBuffer indexEntry(final long version, final long offset, final int length) {
+        final ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_BYTES);
+        entry.putLong(version).putLong(offset).putInt(length).flip();
+        return entry;
+    }
+
+    private static int crc32(final byte[] payload) {
+        final CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static void readFully(final FileChannel channel, final ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of schedule store file at " + position);
+            }
+            position += read;
+        }
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static class PendingAppend {
+        private final ScheduleVersion schedule;
+        private final CompletableFuture<ScheduleVersion> result = new CompletableFuture<>();
+
+        PendingAppend(final ScheduleVersion schedule) {
+            this.schedule = schedule;
+        }
+    }
+
+    private static class RecordLocation {
+        private final Segment segment;
+        private final long offset;
+        private final int length;
+
+        RecordLocation(final Segment segment, final long offset, final int length) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        Segment getSegment() {
+            return segment;
+        }
+    }
+
+    private static class Segment {
+        private final FileChannel data;
+        /**
+         * Open only while the segment is being appended to.
+         */
+        private FileChannel index;
+
+        private Segment(final FileChannel data, final FileChannel index) {
+            this.data = data;
+            this.index = index;
+        }
+
+        static Segment open(final Path directory, final long baseVersion) throws IOException {
+            final String name = String.format("%020d", baseVersion);
+            final Path dataFile = directory.resolve(name + SEGMENT_SUFFIX);
+            final Path indexFile = directory.resolve(name + INDEX_SUFFIX);
+            final boolean created = Files.notExists(dataFile) || Files.notExists(indexFile);
+            final FileChannel data = FileChannel.open(dataFile,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            final Segment segment;
+            try {
+                segment = new Segment(data, FileChannel.open(indexFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE));
+            } catch (IOException e) {
+                data.close();
+                throw e;
+            }
+            if (created) {
+                try {
+                    syncDirectory(directory);
+                } catch (IOException e) {
+                    segment.close();
+                    throw e;
+                }
+            }
+            return segment;
+        }
+
+        /**
+         * Close the index for good, also when the final fsync fails, the segment is never appended to again.
+         */
+        void sealIndex() throws IOException {
+            if (index != null) {
+                try {
+                    index.force(true);
+                } finally {
+                    index.close();
+                    index = null;
+                }
+            }
+        }
+
+        void close() throws IOException {
+            sealIndex();
+            data.close();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.alicetechnologies.planner.schedule.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@Schema
+public class ScheduleDiffDto {
+
+    private long fromVersion;
+    private long toVersion;
+    @Schema(description = "totalDuration of toVersion minus totalDuration of fromVersion")
+    private int totalDurationDelta;
+    private int maxCrewMembersDelta;
+    @Schema(description = "tasks which were added, removed or whose interval changed")
+    private List<IntervalChange> changes;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @Schema
+    public static class IntervalChange {
+        private String taskCode;
+        @Schema(description = "absent when the task was added in toVersion")
+        private @Nullable Integer fromStart;
+        private @Nullable Integer fromEnd;
+        @Schema(description = "absent when the task was removed in toVersion")
+        private @Nullable Integer toStart;
+        private @Nullable Integer toEnd;
+    }
+}
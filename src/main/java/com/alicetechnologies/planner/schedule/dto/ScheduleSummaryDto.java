@@ -0,0 +1,18 @@
+package com.alicetechnologies.planner.schedule.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class ScheduleSummaryDto {
+
+    private long version;
+    private long publishedAt;
+    private int totalDuration;
+    private int maxCrewMembers;
+    private int taskCount;
+
+}
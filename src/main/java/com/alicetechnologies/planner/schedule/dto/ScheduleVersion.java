@@ -0,0 +1,30 @@
+package com.alicetechnologies.planner.schedule.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Published task set together with its evaluated result, as persisted in the schedule store.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema
+public class ScheduleVersion {
+
+    @Schema(description = "sequential version number assigned by the store, starting at 1")
+    private long version;
+    @Schema(description = "epoch millis at which the version was committed")
+    private long publishedAt;
+
+    private int totalDuration;
+    private int maxCrewMembers;
+
+    private List<ScheduledTask> tasks;
+}
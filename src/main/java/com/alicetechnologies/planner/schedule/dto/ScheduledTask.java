@@ -0,0 +1,22 @@
+package com.alicetechnologies.planner.schedule.dto;
+
+import com.alicetechnologies.planner.task.dto.Task;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema
+public class ScheduledTask {
+    @JsonUnwrapped
+    private Task task;
+
+    private int startInterval;
+    private int endInterval;
+}
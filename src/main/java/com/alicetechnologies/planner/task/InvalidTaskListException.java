@@ -0,0 +1,12 @@
+package com.alicetechnologies.planner.task;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidTaskListException extends RuntimeException {
+
+    public InvalidTaskListException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,85 @@
+package com.alicetechnologies.planner.task;
+
+import com.alicetechnologies.planner.task.dto.Task;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks a posted task list before it is handed to the compute pool, so a broken project is rejected with
+ * {@code 400} instead of failing inside the evaluation.
+ */
+@Component
+public class TaskListValidator {
+
+    /**
+     * @throws InvalidTaskListException if a task code is missing or repeated, a duration is negative,
+     *                                  a dependency does not exist or the dependencies form a cycle
+     */
+    public void validate(final Collection<Task> tasks) {
+        final Map<String, Task> byTaskCode = new HashMap<>();
+        for (Task task : tasks) {
+            if (task == null) {
+                throw new InvalidTaskListException("Task must not be null");
+            }
+            if (task.getTaskCode() == null || task.getTaskCode().isBlank()) {
+                throw new InvalidTaskListException("Task code must not be blank");
+            }
+            if (byTaskCode.putIfAbsent(task.getTaskCode(), task) != null) {
+                throw new InvalidTaskListException("Duplicate task code " + task.getTaskCode());
+            }
+            if (task.getDuration() < 0) {
+                throw new InvalidTaskListException("Negative duration of task " + task.getTaskCode());
+            }
+            if (task.getDependencies() == null) {
+                throw new InvalidTaskListException("Dependencies of task " + task.getTaskCode() + " must not be null");
+            }
+        }
+
+        // number of dependencies of each task which are not released yet, and the tasks each task blocks
+        final Map<String, Integer> remaining = new HashMap<>();
+        final Map<String, List<String>> blocked = new HashMap<>();
+        for (Task task : tasks) {
+            for (String dependency : task.getDependencies()) {
+                if (!byTaskCode.containsKey(dependency)) {
+                    throw new InvalidTaskListException("Unknown dependency " + dependency
+                        + " of task " + task.getTaskCode());
+                }
+                blocked.computeIfAbsent(dependency, code -> new ArrayList<>()).add(task.getTaskCode());
+            }
+            remaining.put(task.getTaskCode(), task.getDependencies().size());
+        }
+
+        // Kahn's algorithm, tasks never released lie on or behind a cycle
+        final Deque<String> ready = new ArrayDeque<>();
+        remaining.forEach((taskCode, count) -> {
+            if (count == 0) {
+                ready.add(taskCode);
+            }
+        });
+        int released = 0;
+        while (!ready.isEmpty()) {
+            final String taskCode = ready.poll();
+            released++;
+            for (String next : blocked.getOrDefault(taskCode, List.of())) {
+                if (remaining.merge(next, -1, Integer::sum) == 0) {
+                    ready.add(next);
+                }
+            }
+        }
+        if (released != byTaskCode.size()) {
+            final String blockedForever = remaining.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .map(Map.Entry::getKey)
+                .sorted()
+                .findFirst().orElseThrow();
+            throw new InvalidTaskListException("Cyclic dependency, task " + blockedForever + " can never start");
+        }
+    }
+}
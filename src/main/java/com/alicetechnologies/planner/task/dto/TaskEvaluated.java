@@ -22,7 +22,9 @@ public class TaskEvaluated {
     /**
      * A list of tasks that need to be done before this one can start.
      * The current task is blocked by all these tasks.
+     * Excluded from hash code, hashing the whole ancestry is exponential on diamond shaped graphs.
      */
+    @EqualsAndHashCode.Exclude
     private Set<TaskEvaluated> dependencies = new HashSet<>();
 
     /**
@@ -41,8 +43,17 @@ public class TaskEvaluated {
         return task.getTaskCode();
     }
 
-    public void setLatestIntervalFor(final int maxCost) {
-        latestStart = maxCost - criticalCost;
-        latestFinish = latestStart + cost;
+    /**
+     * @return how much the task can be delayed without delaying the whole project
+     */
+    public int getTotalFloat() {
+        return latestStart - earlyStart;
+    }
+
+    /**
+     * @return whether the task lies on a critical path, i.e. has no float
+     */
+    public boolean isCritical() {
+        return getTotalFloat() == 0;
     }
 }
@@ -2,6 +2,7 @@ package com.alicetechnologies.planner;
 
 import com.alicetechnologies.planner.plan.PlanResponseDto;
 import com.alicetechnologies.planner.plan.PlannerController;
+import com.alicetechnologies.planner.plan.RollupNodeDto;
 import com.alicetechnologies.planner.task.TaskController;
 import com.alicetechnologies.planner.task.dto.TaskResponseDto;
 import org.junit.jupiter.api.Assertions;
@@ -10,10 +11,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
-@SpringBootTest
+@SpringBootTest(properties = "planner.store.directory=target/test-schedules")
 class AppIntegrationTest {
 
     @Autowired
@@ -72,4 +74,55 @@ class AppIntegrationTest {
         );
     }
 
+    @Test
+    void rollup() {
+        final List<RollupNodeDto> buildings = plannerController.getRollup(null);
+        // skybridges and cranes (Crane_TCA) are named by their element only, so they belong to no building
+        assertEquals("B1, B2, PO", buildings.stream()
+            .map(RollupNodeDto::getPath)
+            .collect(Collectors.joining(", ")));
+        // mast climbers (B1_North_Mast Climber) belong to their building, but to no zone
+        assertEquals("B1_A, B1_B, B1_C, B2_A, B2_B, B2_C, PO_A, PO_B", plannerController.getRollup("zone").stream()
+            .map(RollupNodeDto::getPath)
+            .sorted()
+            .collect(Collectors.joining(", ")));
+
+        final RollupNodeDto b1 = buildings.get(0);
+        Assertions.assertAll(
+            () -> assertEquals("building", b1.getLevel()),
+            () -> assertEquals(0, b1.getStart()),
+            () -> assertEquals(1069, b1.getFinish()),
+            () -> assertEquals(589, b1.getTaskCount()),
+            () -> assertEquals(78, b1.getCriticalTaskCount()),
+            () -> assertEquals(69, b1.getPeakCrewMembers())
+        );
+
+        final List<RollupNodeDto> levels = plannerController.getRollup("level");
+        final RollupNodeDto b1cl8 = levels.stream()
+            .filter(node -> node.getPath().equals("B1_C_L8"))
+            .findFirst().orElseThrow();
+        Assertions.assertAll(
+            () -> assertEquals(52, levels.size()),
+            () -> assertEquals("L8", b1cl8.getName()),
+            () -> assertEquals(656, b1cl8.getStart()),
+            () -> assertEquals(1069, b1cl8.getFinish()),
+            () -> assertEquals(413, b1cl8.getTotalDuration()),
+            () -> assertEquals(30, b1cl8.getTaskCount()),
+            () -> assertEquals(7, b1cl8.getCriticalTaskCount()),
+            () -> assertEquals(10, b1cl8.getPeakCrewMembers())
+        );
+
+        final List<RollupNodeDto> elements = plannerController.getRollup("element");
+        Assertions.assertAll(
+            () -> assertEquals(259, elements.size()),
+            () -> assertEquals(1304, elements.stream().mapToInt(RollupNodeDto::getTaskCount).sum()),
+            () -> assertEquals("B1_A_Excavation", elements.get(0).getPath()),
+            () -> assertEquals("Excavation", elements.get(0).getName()),
+            () -> assertEquals("North_Mast Climber", elements.stream()
+                .filter(node -> node.getPath().equals("B1_North_Mast Climber"))
+                .findFirst().orElseThrow()
+                .getName())
+        );
+    }
+
 }
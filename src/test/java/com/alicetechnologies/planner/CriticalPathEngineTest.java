@@ -6,6 +6,8 @@ import com.alicetechnologies.planner.task.dto.TaskEvaluated;
 import com.alicetechnologies.planner.task.TaskRepository;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
@@ -15,6 +17,7 @@ import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 
 public class CriticalPathEngineTest {
 
@@ -81,7 +84,37 @@ public class CriticalPathEngineTest {
             () -> assertEquals("A[0-5], E[0-3], D[3-5], B[5-25], C[25-29]", timedSequence(tasks)),
 
             // flow E -> D intersects with flow A -> B -> C in duration of task A
-            () -> assertEquals(2, crewMemberService.getMaxCrewMembers(tasks))
+            () -> assertEquals(2, crewMemberService.getMaxCrewMembers(tasks)),
+
+            // flow E -> D can be delayed until D finishes together with C
+            () -> assertEquals("A, B, C", tasks.stream()
+                .filter(TaskEvaluated::isCritical)
+                .map(TaskEvaluated::getTaskCode)
+                .collect(Collectors.joining(", "))),
+            () -> assertEquals(24, tasks.get(1).getTotalFloat())
+        );
+    }
+
+    /**
+     * {@code J0 -> (L0, R0) -> J1 -> (L1, R1) -> ... -> J40}, the number of paths doubles with every diamond
+     */
+    @Test
+    void diamondChain() {
+        final List<Task> sourceTasks = new ArrayList<>();
+        sourceTasks.add(task("J0", "join", 1));
+        for (int i = 0; i < 40; i++) {
+            sourceTasks.add(task("L" + i, "left", 2, "J" + i));
+            sourceTasks.add(task("R" + i, "right", 3, "J" + i));
+            sourceTasks.add(task("J" + (i + 1), "join", 1, "L" + i, "R" + i));
+        }
+
+        final CriticalPathEngine engine = assertTimeoutPreemptively(Duration.ofSeconds(5),
+            () -> new CriticalPathEngine(sourceTasks));
+
+        assertAll(
+            () -> assertEquals(161, engine.getTotalDuration()),
+            () -> assertEquals(81, engine.getTasks().stream().filter(TaskEvaluated::isCritical).count()),
+            () -> assertEquals(1, engine.getTasks().get(1).getTotalFloat())
         );
     }
 
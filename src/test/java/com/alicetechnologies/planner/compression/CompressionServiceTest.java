@@ -0,0 +1,328 @@
+package com.alicetechnologies.planner.compression;
+
+import com.alicetechnologies.planner.CriticalPathEngine;
+import com.alicetechnologies.planner.compression.dto.CompressionResponseDto;
+import com.alicetechnologies.planner.compression.dto.CrashCost;
+import com.alicetechnologies.planner.task.TaskRepository;
+import com.alicetechnologies.planner.task.dto.Task;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompressionServiceTest {
+
+    CompressionService compressionService = new CompressionService(1000);
+
+    /**
+     * {@code A} and {@code B} run in parallel, {@code C} depends on both. Cheapest first shorten {@code A},
+     * then {@code A} and {@code B} together once both are critical, and finally the expensive {@code C}.
+     */
+    @Test
+    void fullCompression() {
+        final List<Task> tasks = List.of(
+            task("A", "walls", 10),
+            task("B", "walls", 8),
+            task("C", "roof", 4, "A", "B")
+        );
+        final List<CrashCost> crashCosts = List.of(
+            crashCost("A", null, 6, 10),
+            crashCost("B", null, 5, 1),
+            crashCost(null, "roof", 2, 30)
+        );
+
+        final CompressionResponseDto result = compressionService.compress(tasks, crashCosts, 0);
+
+        assertAll(
+            () -> assertEquals(14, result.getOriginalDuration()),
+            () -> assertEquals(8, result.getTotalDuration()),
+            () -> assertEquals(102, result.getTotalCost()),
+            () -> assertEquals("14:0, 12:20, 10:42, 8:102", curve(result.getTradeOffCurve())),
+            () -> assertEquals("A[10-6], B[8-6], C[4-2]", result.getCrashedTasks().stream()
+                .map(task -> String.format("%s[%d-%d]", task.getTaskCode(), task.getOriginalDuration(), task.getDuration()))
+                .collect(Collectors.joining(", ")))
+        );
+    }
+
+    @Test
+    void targetReduction() {
+        final List<Task> tasks = List.of(
+            task("A", "walls", 10),
+            task("B", "walls", 8),
+            task("C", "roof", 4, "A", "B")
+        );
+        final List<CrashCost> crashCosts = List.of(crashCost(null, "walls", 5, 1));
+
+        final CompressionResponseDto result = compressionService.compress(tasks, crashCosts, 3);
+
+        assertAll(
+            () -> assertEquals(11, result.getTotalDuration()),
+            () -> assertEquals("14:0, 12:2, 11:4", curve(result.getTradeOffCurve()))
+        );
+    }
+
+    @Test
+    void largerDataset() {
+        final List<Task> tasks = new TaskRepository("tasks.json").getTasks();
+        final List<CrashCost> crashCosts = List.of(
+            crashCost(null, "Cure", 4, 50),
+            crashCost(null, "Interior Framing", 8, 20),
+            crashCost(null, "Inspect & Sign-off", 8, 100)
+        );
+
+        final CompressionResponseDto result = compressionService.compress(tasks, crashCosts, 50);
+        final List<CompressionResponseDto.TradeOffPoint> curve = result.getTradeOffCurve();
+
+        assertAll(
+            () -> assertEquals(new CriticalPathEngine(tasks).getTotalDuration(), result.getOriginalDuration()),
+            // the whole reduction is reached by curing faster, 2 time units per step
+            () -> assertEquals(result.getOriginalDuration() - 50, result.getTotalDuration()),
+            () -> assertEquals(2500, result.getTotalCost()),
+            () -> assertEquals(26, curve.size())
+        );
+        for (int i = 1; i < curve.size(); i++) {
+            assertTrue(curve.get(i).getTotalDuration() < curve.get(i - 1).getTotalDuration());
+            assertTrue(curve.get(i).getTotalCost() >= curve.get(i - 1).getTotalCost());
+        }
+        // crashing must be reflected by a full re-evaluation of the crashed durations
+        assertEquals(new CriticalPathEngine(crash(tasks, result)).getTotalDuration(), result.getTotalDuration());
+    }
+
+    /**
+     * 1000 layers of 100 tasks, every task depending on 3 random tasks of the previous layer.
+     */
+    @Test
+    @Tag("slow")
+    void hundredThousandTasks() {
+        final List<Task> tasks = hundredThousandTasks();
+
+        final CompressionResponseDto result = assertTimeoutPreemptively(Duration.ofSeconds(10),
+            () -> compressionService.compress(tasks, hundredThousandTasksCrashCosts(), 50));
+
+        assertAll(
+            () -> assertEquals(17453, result.getOriginalDuration()),
+            () -> assertEquals(17403, result.getTotalDuration()),
+            () -> assertEquals(50, result.getTotalCost()),
+            () -> assertFalse(result.isStepLimitReached())
+        );
+    }
+
+    /**
+     * As far as possible, every step shortens the project by a single unit while the critical part keeps growing,
+     * so the curve ends at the step limit. The incrementally maintained network must still agree with a full
+     * re-evaluation after lengthening tasks back on the way.
+     */
+    @Test
+    @Tag("slow")
+    void hundredThousandTasksAsFarAsPossible() {
+        final List<Task> tasks = hundredThousandTasks();
+
+        final CompressionResponseDto result = assertTimeoutPreemptively(Duration.ofSeconds(30),
+            () -> new CompressionService(200).compress(tasks, hundredThousandTasksCrashCosts(), 0));
+
+        assertAll(
+            () -> assertTrue(result.isStepLimitReached()),
+            () -> assertEquals(201, result.getTradeOffCurve().size()),
+            () -> assertEquals(17253, result.getTotalDuration()),
+            () -> assertEquals(311, result.getTotalCost()),
+            () -> assertEquals(result.getTotalDuration(), new CriticalPathEngine(crash(tasks, result)).getTotalDuration())
+        );
+    }
+
+    @Test
+    void invalidRequest() {
+        assertAll(
+            () -> assertThrows(InvalidCompressionRequestException.class,
+                () -> compressionService.validate(List.of(crashCost(null, null, 1, 1)), 1)),
+            () -> assertThrows(InvalidCompressionRequestException.class,
+                () -> compressionService.validate(List.of(crashCost("A", null, -1, 1)), 1)),
+            () -> assertThrows(InvalidCompressionRequestException.class,
+                () -> compressionService.validate(List.of(), -1))
+        );
+    }
+
+    /**
+     * {@code T3} is the cheapest way to save the first 3 time units, but once {@code T1} and {@code T4} have to be
+     * shortened anyway it no longer helps, and lengthening it back pays for part of the next steps.
+     */
+    @Test
+    void lengthensBackCrashedTasks() {
+        final List<Task> tasks = List.of(
+            task("T0", "work", 2),
+            task("T1", "work", 4),
+            task("T2", "work", 2, "T0"),
+            task("T3", "work", 3, "T1"),
+            task("T4", "work", 5, "T0", "T2", "T3"),
+            task("T5", "work", 5, "T0"),
+            task("T6", "work", 5, "T1")
+        );
+        final List<CrashCost> crashCosts = List.of(
+            crashCost("T1", null, 0, 6),
+            crashCost("T3", null, 0, 2),
+            crashCost("T4", null, 1, 3),
+            crashCost("T5", null, 0, 9)
+        );
+
+        final CompressionResponseDto result = compressionService.compress(tasks, crashCosts, 0);
+
+        assertAll(
+            () -> assertEquals("12:0, 9:6, 7:20, 6:36, 5:54", curve(result.getTradeOffCurve())),
+            () -> assertEquals("T1[4-0], T4[5-1], T5[5-3]", result.getCrashedTasks().stream()
+                .map(task -> String.format("%s[%d-%d]", task.getTaskCode(), task.getOriginalDuration(), task.getDuration()))
+                .collect(Collectors.joining(", ")))
+        );
+    }
+
+    /**
+     * Every point of the curve costs as much as the cheapest combination of durations reaching its total duration,
+     * found by trying all of them on small random projects.
+     */
+    @Test
+    void matchesOptimumOfSmallProjects() {
+        final Random random = new Random(7);
+        for (int project = 0; project < 300; project++) {
+            final int size = 3 + random.nextInt(5);
+            final int[][] dependencies = new int[size][];
+            final int[] duration = new int[size];
+            final int[] minDuration = new int[size];
+            final int[] costPerUnit = new int[size];
+            final List<Task> tasks = new ArrayList<>();
+            final List<CrashCost> crashCosts = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                dependencies[i] = IntStream.range(0, i).filter(dependency -> random.nextInt(3) == 0).toArray();
+                duration[i] = 1 + random.nextInt(5);
+                minDuration[i] = random.nextInt(duration[i] + 1);
+                costPerUnit[i] = 1 + random.nextInt(10);
+                tasks.add(task("T" + i, "work", duration[i], Arrays.stream(dependencies[i])
+                    .mapToObj(dependency -> "T" + dependency)
+                    .toArray(String[]::new)));
+                crashCosts.add(crashCost("T" + i, null, minDuration[i], costPerUnit[i]));
+            }
+            final Map<Integer, Integer> optimum = new HashMap<>();
+            enumerate(dependencies, duration, minDuration, costPerUnit, new int[size], 0, optimum);
+
+            final CompressionResponseDto result = compressionService.compress(tasks, crashCosts, 0);
+
+            final String description = tasks.stream()
+                .map(task -> task.getTaskCode() + task.getDependencies() + task.getDuration())
+                .collect(Collectors.joining(", "));
+            assertEquals(Collections.min(optimum.keySet()), result.getTotalDuration(), description);
+            for (CompressionResponseDto.TradeOffPoint point : result.getTradeOffCurve()) {
+                assertEquals(optimum.get(point.getTotalDuration()), point.getTotalCost(), 1e-9, description);
+            }
+        }
+    }
+
+    /**
+     * Cheapest cost of every reachable total duration over all combinations of durations.
+     */
+    private static void enumerate(
+        final int[][] dependencies,
+        final int[] duration,
+        final int[] minDuration,
+        final int[] costPerUnit,
+        final int[] crashed,
+        final int task,
+        final Map<Integer, Integer> optimum
+    ) {
+        if (task == crashed.length) {
+            final int[] earlyFinish = new int[crashed.length];
+            int totalDuration = 0;
+            int cost = 0;
+            for (int i = 0; i < crashed.length; i++) {
+                final int earlyStart = Arrays.stream(dependencies[i]).map(d -> earlyFinish[d]).max().orElse(0);
+                earlyFinish[i] = earlyStart + crashed[i];
+                totalDuration = Math.max(totalDuration, earlyFinish[i]);
+                cost += (duration[i] - crashed[i]) * costPerUnit[i];
+            }
+            optimum.merge(totalDuration, cost, Math::min);
+            return;
+        }
+        for (int value = minDuration[task]; value <= duration[task]; value++) {
+            crashed[task] = value;
+            enumerate(dependencies, duration, minDuration, costPerUnit, crashed, task + 1, optimum);
+        }
+    }
+
+    private static List<Task> hundredThousandTasks() {
+        final Random random = new Random(42);
+        final int width = 100;
+        final List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            final Set<String> dependencies = new HashSet<>();
+            if (i >= width) {
+                final int previousLayer = (i / width - 1) * width;
+                for (int k = 0; k < 3; k++) {
+                    dependencies.add("T" + (previousLayer + random.nextInt(width)));
+                }
+            }
+            tasks.add(task("T" + i, "op" + (i % 17), 1 + random.nextInt(20), dependencies.toArray(String[]::new)));
+        }
+        return tasks;
+    }
+
+    private static List<CrashCost> hundredThousandTasksCrashCosts() {
+        return IntStream.range(0, 17)
+            .mapToObj(k -> crashCost(null, "op" + k, 1, 1 + k))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * @return tasks with the durations of the compression result
+     */
+    private static List<Task> crash(final List<Task> tasks, final CompressionResponseDto result) {
+        final Map<String, CompressionResponseDto.CrashedTask> crashed = result.getCrashedTasks().stream()
+            .collect(Collectors.toMap(CompressionResponseDto.CrashedTask::getTaskCode, Function.identity()));
+        return tasks.stream()
+            .map(task -> Optional.ofNullable(crashed.get(task.getTaskCode()))
+                .map(crashedTask -> new Task(task.getTaskCode(), task.getOperationName(), task.getElementName(),
+                    crashedTask.getDuration(), task.getCrew(), task.getEquipment(), task.getDependencies()))
+                .orElse(task))
+            .collect(Collectors.toList());
+    }
+
+    private static Task task(String code, String name, int duration, String... dependencies) {
+        return Task.builder()
+            .taskCode(code)
+            .operationName(name)
+            .duration(duration)
+            .dependencies(Arrays.stream(dependencies).collect(Collectors.toSet()))
+            .build();
+    }
+
+    private static CrashCost crashCost(String taskCode, String operationName, int minDuration, double costPerUnit) {
+        return CrashCost.builder()
+            .taskCode(taskCode)
+            .operationName(operationName)
+            .minDuration(minDuration)
+            .costPerUnit(costPerUnit)
+            .build();
+    }
+
+    private static String curve(final Collection<CompressionResponseDto.TradeOffPoint> curve) {
+        return curve.stream()
+            .map(point -> String.format("%d:%.0f", point.getTotalDuration(), point.getTotalCost()))
+            .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,146 @@
+package com.alicetechnologies.planner.compute;
+
+import com.alicetechnologies.planner.CriticalPathEngine;
+import com.alicetechnologies.planner.plan.CrewMemberService;
+import com.alicetechnologies.planner.task.dto.Task;
+import com.alicetechnologies.planner.task.dto.TaskEvaluated;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ComputeExecutorTest {
+
+    private static final CrewMemberService crewMemberService = new CrewMemberService();
+
+    @Test
+    void rejectsWhenSaturated() throws Exception {
+        final ComputeExecutor executor = new ComputeExecutor(1, 1, 30_000);
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            final CompletableFuture<Integer> running = executor.submit(() -> await(release, 1));
+            final CompletableFuture<Integer> queued = executor.submit(() -> await(release, 2));
+
+            assertThrows(ComputeRejectedException.class, () -> executor.submit(() -> 3));
+
+            release.countDown();
+            assertEquals(1, running.get(5, TimeUnit.SECONDS));
+            assertEquals(2, queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    void timesOutLongEvaluation() {
+        final ComputeExecutor executor = new ComputeExecutor(1, 1, 50);
+        try {
+            final CompletableFuture<Integer> slow = executor.submit(() -> await(new CountDownLatch(1), 1));
+
+            final CompletionException error = assertThrows(CompletionException.class, slow::join);
+            assertInstanceOf(ComputeTimeoutException.class, error.getCause());
+            // the interrupted worker is released for the next evaluation
+            assertEquals(2, executor.submit(() -> 2).join());
+        } finally {
+            executor.destroy();
+        }
+    }
+
+    /**
+     * The evaluation never blocks, the slot is only released if the evaluation itself reacts to the interrupt:
+     * critical path followed by the crew calculation, the same as {@code POST /api/plan}.
+     */
+    @Test
+    void timesOutCpuBoundEvaluation() throws Exception {
+        final List<Task> chain = chain(1000);
+        assertReleasedOnTimeout(() -> {
+            while (true) {
+                crewMemberService.getMaxCrewMembers(new CriticalPathEngine(chain).getTasks());
+            }
+        });
+    }
+
+    /**
+     * Crew calculation over a large evaluated project on its own, it must not hold the slot either.
+     */
+    @Test
+    void timesOutCpuBoundCrewCalculation() throws Exception {
+        final List<TaskEvaluated> tasks = new CriticalPathEngine(chain(20_000)).getTasks();
+        assertReleasedOnTimeout(() -> {
+            while (true) {
+                crewMemberService.getMaxCrewMembers(tasks);
+            }
+        });
+    }
+
+    @Test
+    void releasesQueueSlotOnTimeout() throws Exception {
+        final ComputeExecutor executor = new ComputeExecutor(1, 1, 200);
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            final CompletableFuture<Integer> blocking = executor.submit(() -> {
+                Uninterruptibles.awaitUninterruptibly(release);
+                return 1;
+            });
+            final CompletableFuture<Integer> queued = executor.submit(() -> 2);
+
+            final CompletionException error = assertThrows(CompletionException.class, queued::join);
+            assertInstanceOf(ComputeTimeoutException.class, error.getCause());
+            // the timed out evaluation no longer takes up the queue, although the worker is still blocked
+            assertEquals(0, executor.getQueuedCount());
+            final CompletableFuture<Integer> next = executor.submit(() -> 3);
+
+            release.countDown();
+            assertThrows(CompletionException.class, blocking::join);
+            assertEquals(3, next.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            executor.destroy();
+        }
+    }
+
+    private static void assertReleasedOnTimeout(final Supplier<Integer> endless) throws Exception {
+        final ComputeExecutor executor = new ComputeExecutor(1, 1, 200);
+        try {
+            final CompletionException error = assertThrows(CompletionException.class,
+                () -> executor.submit(endless).join());
+            assertInstanceOf(ComputeTimeoutException.class, error.getCause());
+            // with a single compute thread this only runs if the endless evaluation stopped
+            assertEquals(1, executor.submit(() -> 1).get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.destroy();
+        }
+    }
+
+    private static List<Task> chain(final int length) {
+        return IntStream.range(0, length)
+            .mapToObj(i -> Task.builder()
+                .taskCode("T" + i)
+                .duration(1)
+                .crew(Task.Crew.builder().name("team").assignment(1).build())
+                .dependencies(i == 0 ? Set.of() : Set.of("T" + (i - 1)))
+                .build())
+            .collect(Collectors.toList());
+    }
+
+    private static int await(final CountDownLatch latch, final int value) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,321 @@
+package com.alicetechnologies.planner.plan;
+
+import com.alicetechnologies.planner.PlannerApplication;
+import com.alicetechnologies.planner.compression.dto.CompressionRequestDto;
+import com.alicetechnologies.planner.compression.dto.CrashCost;
+import com.alicetechnologies.planner.compute.ComputeExecutor;
+import com.alicetechnologies.planner.task.dto.Task;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Plan endpoints through the MVC layer with a compute pool of one running and one queued evaluation.
+ */
+@SpringBootTest(properties = {
+    "planner.compute.threads=1",
+    "planner.compute.queue-capacity=1",
+    "planner.compute.evaluation-timeout-ms=1000",
+    "planner.store.directory=target/test-schedules-mvc"
+})
+@AutoConfigureMockMvc
+class PlannerControllerTest {
+
+    /**
+     * Read latency objective stated in the README.
+     */
+    private static final long READ_P99_BUDGET_MS = 50;
+
+    /**
+     * Saturated read p99 may be at most this many times the idle one (with idle counted as at least 1 ms).
+     */
+    private static final long SATURATED_P99_FACTOR = 3;
+
+    private static final int READERS = 8;
+
+    private static final int READS = 800;
+
+    /**
+     * Size of the posted chains keeping the compute pool busy, tens of milliseconds of CPU per evaluation.
+     */
+    private static final int SATURATING_TASKS = 20_000;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    ComputeExecutor computeExecutor;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void releasePool() throws InterruptedException {
+        release.countDown();
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (computeExecutor.getActiveCount() > 0 || computeExecutor.getQueuedCount() > 0) {
+            assertTrue(System.nanoTime() < deadline, "compute pool did not drain");
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void evaluatesPostedPlan() throws Exception {
+        final MvcResult result = postPlan(List.of(
+                task("C", 4, "B"),
+                task("B", 3, "A"),
+                task("A", 5)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalDuration").value(12))
+            .andExpect(jsonPath("$.maxCrewMembers").value(1));
+    }
+
+    @Test
+    void rejectsInvalidTaskList() throws Exception {
+        postPlan(List.of(task("A", 5, "X")))
+            .andExpect(status().isBadRequest());
+        postPlan(List.of(task("A", 5), task("A", 3)))
+            .andExpect(status().isBadRequest());
+        postPlan(List.of(task("A", 5, "C"), task("B", 3, "A"), task("C", 1, "B")))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(post(PlannerApplication.API_SCHEDULE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(task("A", 5, "A")))))
+            .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Invalid compression requests are answered right away, even while the compute pool is saturated.
+     */
+    @Test
+    void rejectsInvalidCompressionRequest() throws Exception {
+        occupy(2);
+
+        postCompression(CompressionRequestDto.builder()
+            .targetReduction(1)
+            .tasks(List.of(task("A", 5, "X")))
+            .build())
+            .andExpect(status().isBadRequest());
+        postCompression(CompressionRequestDto.builder()
+            .targetReduction(1)
+            .tasks(List.of(task("A", -5)))
+            .build())
+            .andExpect(status().isBadRequest());
+        postCompression(CompressionRequestDto.builder()
+            .targetReduction(1)
+            .tasks(List.of(Task.builder().taskCode("A").duration(5).dependencies(null).build()))
+            .build())
+            .andExpect(status().isBadRequest());
+        postCompression(CompressionRequestDto.builder()
+            .targetReduction(1)
+            .tasks(List.of(task("A", 5, "B"), task("B", 3, "A")))
+            .build())
+            .andExpect(status().isBadRequest());
+        postCompression(CompressionRequestDto.builder()
+            .targetReduction(-1)
+            .build())
+            .andExpect(status().isBadRequest());
+        postCompression(CompressionRequestDto.builder()
+            .targetReduction(1)
+            .crashCosts(List.of(CrashCost.builder().minDuration(1).costPerUnit(1).build()))
+            .build())
+            .andExpect(status().isBadRequest());
+        // only a valid request gets as far as the saturated pool
+        postCompression(CompressionRequestDto.builder()
+            .targetReduction(1)
+            .build())
+            .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void rejectsWhenSaturated() throws Exception {
+        occupy(2);
+
+        postPlan(List.of(task("A", 5)))
+            .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void timesOutQueuedEvaluation() throws Exception {
+        occupy(1);
+
+        // queued behind the blocked evaluation until the timeout
+        final MvcResult result = postPlan(List.of(task("A", 5)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        result.getAsyncResult(TimeUnit.SECONDS.toMillis(5));
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isServiceUnavailable());
+    }
+
+    /**
+     * Reads never touch the compute pool, keeping it saturated with CPU-bound evaluations must not move their tail
+     * latency by more than {@link #SATURATED_P99_FACTOR}.
+     */
+    @Test
+    void readLatencyUnderSaturation() throws Exception {
+        readLatencies(200); // warm-up
+        final long idleP99 = p99(readLatencies(READS));
+
+        final String body = objectMapper.writeValueAsString(chain(SATURATING_TASKS));
+        final AtomicBoolean saturating = new AtomicBoolean(true);
+        final ExecutorService saturators = Executors.newFixedThreadPool(2);
+        final long saturatedP99;
+        try {
+            for (int i = 0; i < 2; i++) {
+                saturators.submit(() -> saturate(body, saturating));
+            }
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (computeExecutor.getActiveCount() == 0) {
+                assertTrue(System.nanoTime() < deadline, "compute pool was not saturated");
+                Thread.sleep(1);
+            }
+            saturatedP99 = p99(readLatencies(READS));
+        } finally {
+            saturating.set(false);
+            saturators.shutdown();
+            assertTrue(saturators.awaitTermination(10, TimeUnit.SECONDS), "saturating evaluations did not stop");
+        }
+
+        final long allowedP99 = SATURATED_P99_FACTOR * Math.max(idleP99, TimeUnit.MILLISECONDS.toNanos(1));
+        assertAll(
+            () -> assertTrue(saturatedP99 <= allowedP99,
+                "saturated p99 " + TimeUnit.NANOSECONDS.toMicros(saturatedP99) + " us, idle p99 "
+                    + TimeUnit.NANOSECONDS.toMicros(idleP99) + " us"),
+            () -> assertTrue(saturatedP99 <= TimeUnit.MILLISECONDS.toNanos(READ_P99_BUDGET_MS),
+                "saturated p99 " + TimeUnit.NANOSECONDS.toMicros(saturatedP99) + " us")
+        );
+    }
+
+    /**
+     * Keep posting {@code body} until {@code saturating} is cleared, the pool stays busy evaluating it.
+     */
+    private Void saturate(final String body, final AtomicBoolean saturating) throws Exception {
+        while (saturating.get()) {
+            final MvcResult result = mockMvc.perform(post(PlannerApplication.API_PLAN)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                .andReturn();
+            if (result.getRequest().isAsyncStarted()) {
+                result.getAsyncResult(TimeUnit.SECONDS.toMillis(5));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Block {@code count} slots of the compute pool until the test finishes, interrupts included.
+     */
+    private void occupy(final int count) {
+        for (int i = 0; i < count; i++) {
+            computeExecutor.submit(() -> {
+                Uninterruptibles.awaitUninterruptibly(release);
+                return null;
+            });
+        }
+    }
+
+    private ResultActions postPlan(final List<Task> tasks) throws Exception {
+        return mockMvc.perform(post(PlannerApplication.API_PLAN)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(tasks)));
+    }
+
+    private ResultActions postCompression(final CompressionRequestDto request) throws Exception {
+        return mockMvc.perform(post(PlannerApplication.API_PLAN_COMPRESSION)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request)));
+    }
+
+    /**
+     * {@link #READERS} concurrent clients reading the plan, {@code count} reads in total.
+     */
+    private long[] readLatencies(final int count) throws Exception {
+        final ExecutorService readers = Executors.newFixedThreadPool(READERS);
+        try {
+            final List<Future<long[]>> results = new ArrayList<>();
+            for (int reader = 0; reader < READERS; reader++) {
+                results.add(readers.submit(() -> {
+                    final long[] latencies = new long[count / READERS];
+                    for (int i = 0; i < latencies.length; i++) {
+                        final long start = System.nanoTime();
+                        mockMvc.perform(get(PlannerApplication.API_PLAN))
+                            .andExpect(status().isOk())
+                            .andExpect(jsonPath("$.totalDuration").value(1069));
+                        latencies[i] = System.nanoTime() - start;
+                    }
+                    return latencies;
+                }));
+            }
+            final LongStream.Builder latencies = LongStream.builder();
+            for (Future<long[]> result : results) {
+                Arrays.stream(result.get(30, TimeUnit.SECONDS)).forEach(latencies::add);
+            }
+            return latencies.build().toArray();
+        } finally {
+            readers.shutdownNow();
+        }
+    }
+
+    private static long p99(final long[] latencies) {
+        final long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.ceil(sorted.length * 0.99) - 1];
+    }
+
+    private static List<Task> chain(final int length) {
+        return IntStream.range(0, length)
+            .mapToObj(i -> i == 0 ? task("T0", 1) : task("T" + i, 1, "T" + (i - 1)))
+            .collect(Collectors.toList());
+    }
+
+    private static Task task(String code, int duration, String... dependencies) {
+        return Task.builder()
+            .taskCode(code)
+            .operationName("work")
+            .duration(duration)
+            .crew(Task.Crew.builder()
+                .name("team")
+                .assignment(1)
+                .build())
+            .dependencies(Arrays.stream(dependencies).collect(Collectors.toSet()))
+            .build();
+    }
+}
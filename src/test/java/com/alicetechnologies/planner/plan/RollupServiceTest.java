@@ -0,0 +1,84 @@
+package com.alicetechnologies.planner.plan;
+
+import com.alicetechnologies.planner.CriticalPathEngine;
+import com.alicetechnologies.planner.task.dto.Task;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RollupServiceTest {
+
+    private static final List<String> LEVELS = List.of("building", "zone", "level", "element");
+
+    @Test
+    void shortNamesEndAtElement() {
+        final RollupService rollupService = rollup(
+            task("A", "B1_A_L1_Floor", 5),
+            task("B", "B1_A_Excavation", 3, "A"),
+            task("C", "Skybridge", 2, "B"),
+            task("D", null, 1),
+            task("E", "", 4)
+        );
+
+        assertAll(
+            () -> assertEquals("B1[0-8]:2", describe(rollupService.getRollup("building"))),
+            () -> assertEquals("B1_A[0-8]:2", describe(rollupService.getRollup("zone"))),
+            () -> assertEquals("B1_A_L1[0-5]:1", describe(rollupService.getRollup("level"))),
+            () -> assertEquals("B1_A_L1_Floor[0-5]:1, Unassigned[0-4]:2, B1_A_Excavation[5-8]:1, Skybridge[8-10]:1",
+                describe(rollupService.getRollup("element"))),
+            () -> assertThrows(UnknownRollupLevelException.class, () -> rollupService.getRollup("floor"))
+        );
+    }
+
+    @Test
+    void segmentsNotMatchingTheirLevelBelongToTheElement() {
+        final RollupService rollupService = rollup(
+            Map.of("building", "B\\d+", "zone", "[A-Z]", "level", "L\\d+"),
+            task("A", "B1_A_L1_Floor", 5),
+            task("B", "B1_North_Mast Climber", 3, "A"),
+            task("C", "Crane_TCA", 2, "B"),
+            task("D", "B1_L2_Floor_East", 1, "C")
+        );
+
+        assertAll(
+            () -> assertEquals("B1[0-11]:3", describe(rollupService.getRollup("building"))),
+            () -> assertEquals("B1_A[0-5]:1", describe(rollupService.getRollup("zone"))),
+            () -> assertEquals("B1_A_L1[0-5]:1, B1_L2[10-11]:1", describe(rollupService.getRollup("level"))),
+            () -> assertEquals("B1_A_L1_Floor[0-5]:1, B1_North_Mast Climber[5-8]:1, Crane_TCA[8-10]:1, "
+                + "B1_L2_Floor_East[10-11]:1", describe(rollupService.getRollup("element"))),
+            () -> assertThrows(IllegalArgumentException.class, () -> rollup(Map.of("floor", "F\\d+")))
+        );
+    }
+
+    private static RollupService rollup(final Task... tasks) {
+        return rollup(Map.of(), tasks);
+    }
+
+    private static RollupService rollup(final Map<String, String> patterns, final Task... tasks) {
+        return new RollupService(new CriticalPathEngine(List.of(tasks)), "_", LEVELS, patterns, "Unassigned");
+    }
+
+    private static String describe(final List<RollupNodeDto> nodes) {
+        return nodes.stream()
+            .map(node -> String.format("%s[%d-%d]:%d", node.getPath(), node.getStart(), node.getFinish(),
+                node.getTaskCount()))
+            .collect(Collectors.joining(", "));
+    }
+
+    private static Task task(String code, String elementName, int duration, String... dependencies) {
+        return Task.builder()
+            .taskCode(code)
+            .operationName("work")
+            .elementName(elementName)
+            .duration(duration)
+            .dependencies(Set.of(dependencies))
+            .build();
+    }
+}
@@ -0,0 +1,191 @@
+package com.alicetechnologies.planner.schedule;
+
+import com.alicetechnologies.planner.compute.ComputeExecutor;
+import com.alicetechnologies.planner.plan.CrewMemberService;
+import com.alicetechnologies.planner.schedule.dto.ScheduleDiffDto;
+import com.alicetechnologies.planner.schedule.dto.ScheduleVersion;
+import com.alicetechnologies.planner.task.TaskListValidator;
+import com.alicetechnologies.planner.task.dto.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScheduleStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<ComputeExecutor> executors = new ArrayList<>();
+
+    @AfterEach
+    void destroyExecutors() {
+        executors.forEach(ComputeExecutor::destroy);
+    }
+
+    @Test
+    void versionsSurviveRestart() throws Exception {
+        final ScheduleStore store = new ScheduleStore(directory.toString(), 1024, 2);
+        final ScheduleService service = service(store);
+
+        // tiny segment size forces a roll over several segments
+        IntStream.range(0, 10)
+            .forEach(i -> service.publish(List.of(task("A", 5 + i), task("B", 3, "A"))).join());
+        store.destroy();
+
+        final ScheduleStore reopened = new ScheduleStore(directory.toString(), 1024, 2);
+        try {
+            final ScheduleVersion first = reopened.get(1).orElseThrow();
+            final ScheduleVersion last = reopened.get(10).orElseThrow();
+            assertAll(
+                () -> assertEquals(10, reopened.getLatestVersion()),
+                () -> assertEquals(8, first.getTotalDuration()),
+                () -> assertEquals(17, last.getTotalDuration()),
+                () -> assertEquals("B", last.getTasks().get(1).getTask().getTaskCode()),
+                () -> assertEquals(14, last.getTasks().get(1).getStartInterval()),
+                () -> assertTrue(reopened.get(11).isEmpty())
+            );
+            assertEquals(11, reopened.append(first).join().getVersion());
+        } finally {
+            reopened.destroy();
+        }
+    }
+
+    @Test
+    void diff() throws Exception {
+        final ScheduleStore store = new ScheduleStore(directory.toString(), 1 << 20, 2);
+        final ScheduleService service = service(store);
+        try {
+            service.publish(List.of(task("A", 5), task("B", 3, "A"), task("C", 2))).join();
+            service.publish(List.of(task("A", 7), task("B", 3, "A"), task("D", 1))).join();
+
+            final ScheduleDiffDto diff = service.diff(1, 2).join();
+            final String changes = diff.getChanges().stream()
+                .map(change -> String.format("%s[%s-%s]->[%s-%s]", change.getTaskCode(),
+                    change.getFromStart(), change.getFromEnd(), change.getToStart(), change.getToEnd()))
+                .collect(Collectors.joining(", "));
+            assertAll(
+                () -> assertEquals(2, diff.getTotalDurationDelta()),
+                () -> assertEquals("A[0-5]->[0-7], D[null-null]->[0-1], B[5-8]->[7-10], C[0-2]->[null-null]", changes),
+                () -> assertInstanceOf(ScheduleNotFoundException.class,
+                    assertThrows(CompletionException.class, () -> service.diff(1, 3).join()).getCause())
+            );
+        } finally {
+            store.destroy();
+        }
+    }
+
+    /**
+     * The last record is torn (payload zeroed although its index entry made it to disk) and followed by garbage.
+     */
+    @Test
+    void recoversCorruptedTail() throws Exception {
+        final ScheduleStore store = new ScheduleStore(directory.toString(), 1 << 20, 2);
+        for (int i = 1; i <= 3; i++) {
+            store.append(schedule(10 * i)).join();
+        }
+        store.destroy();
+
+        final Path segment = directory.resolve(String.format("%020d.seg", 1));
+        try (FileChannel data = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            final long size = data.size();
+            data.write(ByteBuffer.allocate(8), size - 8);
+            data.write(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5, 6, 7}), size);
+        }
+
+        final ScheduleStore reopened = new ScheduleStore(directory.toString(), 1 << 20, 2);
+        try {
+            assertAll(
+                () -> assertEquals(2, reopened.getLatestVersion()),
+                () -> assertTrue(reopened.get(3).isEmpty()),
+                () -> assertEquals(20, reopened.get(2).orElseThrow().getTotalDuration())
+            );
+            assertEquals(3, reopened.append(schedule(40)).join().getVersion());
+        } finally {
+            reopened.destroy();
+        }
+
+        final ScheduleStore recovered = new ScheduleStore(directory.toString(), 1 << 20, 2);
+        try {
+            assertEquals(40, recovered.get(3).orElseThrow().getTotalDuration());
+        } finally {
+            recovered.destroy();
+        }
+    }
+
+    @Test
+    void concurrentAppendsShareOneFsync() throws Exception {
+        final ScheduleStore store = new ScheduleStore(directory.toString(), 1 << 20, 50);
+        final ExecutorService publishers = Executors.newFixedThreadPool(20);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<CompletableFuture<ScheduleVersion>>> appends = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                final int duration = i;
+                appends.add(publishers.submit(() -> {
+                    start.await();
+                    return store.append(schedule(duration));
+                }));
+            }
+            start.countDown();
+
+            final List<Long> versions = new ArrayList<>();
+            for (Future<CompletableFuture<ScheduleVersion>> append : appends) {
+                versions.add(append.get().join().getVersion());
+            }
+            assertAll(
+                () -> assertEquals(LongStream.rangeClosed(1, 20).boxed().collect(Collectors.toList()),
+                    versions.stream().sorted().collect(Collectors.toList())),
+                // a single commit at best, the group commit must not degrade to one fsync per append
+                () -> assertTrue(store.getCommitCount() < 20, "commits " + store.getCommitCount())
+            );
+        } finally {
+            publishers.shutdownNow();
+            store.destroy();
+        }
+    }
+
+    private ScheduleService service(final ScheduleStore store) {
+        final ComputeExecutor executor = new ComputeExecutor(2, 16, 30_000);
+        executors.add(executor);
+        return new ScheduleService(store, new CrewMemberService(), executor, new TaskListValidator());
+    }
+
+    private static ScheduleVersion schedule(final int totalDuration) {
+        return ScheduleVersion.builder()
+            .totalDuration(totalDuration)
+            .tasks(List.of())
+            .build();
+    }
+
+    private static Task task(String code, int duration, String... dependencies) {
+        return Task.builder()
+            .taskCode(code)
+            .operationName("work")
+            .duration(duration)
+            .dependencies(Arrays.stream(dependencies).collect(Collectors.toSet()))
+            .build();
+    }
+}